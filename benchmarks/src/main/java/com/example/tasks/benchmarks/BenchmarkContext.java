@@ -0,0 +1,116 @@
+package com.example.tasks.benchmarks;
+
+import com.example.tasks.TasksApplication;
+import com.example.tasks.dto.BulkTaskResult;
+import com.example.tasks.dto.CreateTaskRequest;
+import com.example.tasks.model.TaskStatus;
+import com.example.tasks.model.User;
+import com.example.tasks.repository.UserRepository;
+import com.example.tasks.service.TaskService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the application without a web server against an embedded H2 database
+ * (profile {@code bench}) and seeds it with a dataset of the requested size.
+ */
+final class BenchmarkContext implements AutoCloseable {
+    private static final int SEED_BATCH = 1000;
+
+    private final ConfigurableApplicationContext context;
+    private final List<Integer> userIds = new ArrayList<>();
+    private final List<Integer> taskIds = new ArrayList<>();
+
+    private BenchmarkContext(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    static BenchmarkContext start() {
+        return start("bench");
+    }
+
+    @SafeVarargs
+    static BenchmarkContext start(String profile,
+                                  ApplicationContextInitializer<ConfigurableApplicationContext>... initializers) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TasksApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles(profile)
+                .initializers(initializers)
+                .run();
+        return new BenchmarkContext(context);
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    List<Integer> userIds() {
+        return userIds;
+    }
+
+    List<Integer> taskIds() {
+        return taskIds;
+    }
+
+    /**
+     * Insert {@code users} users with {@code tasksPerUser} tasks each, through the
+     * application's own batch paths.
+     */
+    BenchmarkContext seed(int users, int tasksPerUser) {
+        UserRepository userRepo = bean(UserRepository.class);
+        List<User> batch = new ArrayList<>(SEED_BATCH);
+        for (int i = 0; i < users; i++) {
+            batch.add(User.builder()
+                    .username("seed.user." + i)
+                    .fullName("Seed User " + i)
+                    .email("seed.user." + i + "@example.com")
+                    .isActive("Y")
+                    .build());
+            if (batch.size() == SEED_BATCH || i == users - 1) {
+                userRepo.saveAll(batch).forEach(user -> userIds.add(user.getUserId()));
+                batch.clear();
+            }
+        }
+
+        TaskService taskService = bean(TaskService.class);
+        TaskStatus[] statuses = TaskStatus.values();
+        List<CreateTaskRequest> requests = new ArrayList<>(SEED_BATCH);
+        for (int u = 0; u < userIds.size(); u++) {
+            for (int t = 0; t < tasksPerUser; t++) {
+                CreateTaskRequest request = new CreateTaskRequest();
+                request.setUserId(userIds.get(u));
+                request.setTitle("Seed task " + t + " for user " + u);
+                request.setDescription("Quarterly planning notes, review items and follow-ups #" + t);
+                request.setStatus(statuses[t % statuses.length]);
+                requests.add(request);
+                if (requests.size() == SEED_BATCH) {
+                    createTasks(taskService, requests);
+                }
+            }
+        }
+        if (!requests.isEmpty()) {
+            createTasks(taskService, requests);
+        }
+        return this;
+    }
+
+    private void createTasks(TaskService taskService, List<CreateTaskRequest> requests) {
+        for (BulkTaskResult result : taskService.createTasks(requests).getResults()) {
+            if (result.getStatus() != BulkTaskResult.Status.CREATED) {
+                throw new IllegalStateException("Seeding failed: " + result.getError());
+            }
+            taskIds.add(result.getTaskId());
+        }
+        requests.clear();
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
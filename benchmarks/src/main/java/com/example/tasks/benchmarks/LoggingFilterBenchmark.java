@@ -0,0 +1,92 @@
+package com.example.tasks.benchmarks;
+
+import com.example.tasks.config.LoggingFilter;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of {@link LoggingFilter}: the same request handled with and without it.
+ * The handler reads the request body and writes a JSON response of {@code bodyBytes}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoggingFilterBenchmark {
+
+    @Param({"512", "16384"})
+    public int bodyBytes;
+
+    private BenchmarkContext context;
+    private LoggingFilter loggingFilter;
+    private byte[] requestBody;
+    private byte[] responseBody;
+    private FilterChain handler;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        loggingFilter = context.bean(LoggingFilter.class);
+        requestBody = json(bodyBytes);
+        responseBody = json(bodyBytes);
+        handler = (request, response) -> {
+            request.getInputStream().readAllBytes();
+            response.setContentType("application/json");
+            response.getOutputStream().write(responseBody);
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse withoutFilter() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        handler.doFilter(request(), response);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse withFilter() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        loggingFilter.doFilter(request(), response, handler);
+        return response;
+    }
+
+    private MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/tasks");
+        request.setContentType("application/json");
+        request.setCharacterEncoding("UTF-8");
+        request.setContent(requestBody);
+        return request;
+    }
+
+    private static byte[] json(int size) {
+        StringBuilder json = new StringBuilder("{\"data\":\"");
+        while (json.length() < size - 2) {
+            json.append('x');
+        }
+        return json.append("\"}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
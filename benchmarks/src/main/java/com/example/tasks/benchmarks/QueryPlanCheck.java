@@ -0,0 +1,274 @@
+package com.example.tasks.benchmarks;
+
+import com.example.tasks.model.TaskStatus;
+import com.example.tasks.repository.TaskRepository;
+import com.example.tasks.repository.UserRepository;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
+import javax.sql.DataSource;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.StringReader;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Checks the SQL Server execution plans of the repository queries on the hot paths against the
+ * indexes in {@code db/migration}. Each query is run once through its repository method to capture
+ * the SQL and parameters Hibernate sends, then compiled again under {@code SET SHOWPLAN_XML ON}
+ * (so it is not executed). A query fails when its plan scans a table or index, unless the scan sits
+ * directly under a {@code Top} (an ordered first page) or the check allows scanning that index.
+ * <p>
+ * Runs with the {@code plancheck} profile against the database in {@code DB_URL}; {@code --seed users
+ * tasksPerUser} inserts data first so the optimizer sees realistic row counts. Exits with status 1
+ * when a plan regresses.
+ */
+public class QueryPlanCheck {
+    private static final Set<String> SCANS = Set.of("Table Scan", "Clustered Index Scan", "Index Scan");
+    private static final Set<String> BLOCKING = Set.of("Sort", "Hash Match", "Table Spool");
+    private static final String SHOWPLAN_NS = "http://schemas.microsoft.com/sqlserver/2004/07/showplan";
+
+    /** A repository call whose statements must not scan, except the listed indexes. */
+    private record Check(String name, Runnable call, Set<String> allowedScans) {
+        Check(String name, Runnable call) {
+            this(name, call, Set.of());
+        }
+    }
+
+    private record CapturedStatement(String sql, Map<Integer, Object> parameters) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CapturingDataSource.Recorder recorder = new CapturingDataSource.Recorder();
+        boolean passed;
+        try (BenchmarkContext context = BenchmarkContext.start("plancheck",
+                (ConfigurableApplicationContext ctx) -> ctx.getBeanFactory().addBeanPostProcessor(recorder))) {
+            if (args.length == 3 && args[0].equals("--seed")) {
+                context.seed(Integer.parseInt(args[1]), Integer.parseInt(args[2]));
+            }
+            UserRepository userRepo = context.bean(UserRepository.class);
+            TaskRepository taskRepo = context.bean(TaskRepository.class);
+            Integer userId = userRepo.findUserIdsAfter(0, PageRequest.of(0, 1)).stream().findFirst().orElse(1);
+
+            List<Check> checks = List.of(
+                    new Check("tasks of a user: page", () -> taskRepo.findSummaryListByUserId(userId, PageRequest.of(2, 10))),
+                    new Check("tasks of a user: page stamp", () -> taskRepo.findPageStampByUserId(userId)),
+                    new Check("tasks of a user: page and count", () -> taskRepo.findSummariesByUserId(userId, PageRequest.of(0, 10))),
+                    new Check("tasks of a user: keyset", () -> taskRepo.findByUserIdAfter(userId, 0, PageRequest.of(0, 20))),
+                    new Check("tasks: keyset by id", () -> taskRepo.findAfter(100, PageRequest.of(0, 20))),
+                    new Check("tasks: first page by updatedAt", () -> taskRepo.findFirstByUpdatedAt(PageRequest.of(0, 20))),
+                    new Check("tasks: keyset by updatedAt", () -> taskRepo.findAfterUpdatedAt(
+                            LocalDateTime.now().minusDays(1), 100, PageRequest.of(0, 20))),
+                    new Check("tasks by status: transition chunk", () -> taskRepo.findIdsByStatusAfter(TaskStatus.DONE,
+                            LocalDateTime.of(1900, 1, 1, 0, 0), LocalDateTime.now().minusDays(30), 0, PageRequest.of(0, 1000))),
+                    new Check("task status counts", () -> taskRepo.countByUserIdInGroupByStatus(List.of(userId, userId + 1))),
+                    new Check("active users: page and count", () -> userRepo.findActiveSummaries(PageRequest.of(0, 10)),
+                            Set.of("IX_users_active")),
+                    new Check("active users: keyset", () -> userRepo.findActiveSummariesAfter(0, PageRequest.of(0, 20))),
+                    new Check("inactive users past retention", () -> userRepo.findInactiveUserIdsAfter(
+                            LocalDateTime.now().minusDays(30), 0, PageRequest.of(0, 100))),
+                    new Check("active user version", () -> userRepo.findActiveVersion(userId)),
+                    new Check("user by username", () -> userRepo.findByUsernameAndIsActive("seed.user.1", "Y")),
+                    new Check("user by username or email", () -> userRepo.findByUsernameOrEmail(
+                            "seed.user.1", "seed.user.2@example.com")),
+                    // Full listings count every row; only the page itself must not scan
+                    new Check("tasks: page and count", () -> taskRepo.findAllSummaries(PageRequest.of(0, 10)),
+                            Set.of("IX_tasks_user_id_task_id", "IX_tasks_user_id_status", "IX_tasks_updated_at", "PK_tasks")));
+
+            DataSource dataSource = context.bean(DataSource.class);
+            passed = true;
+            for (Check check : checks) {
+                List<CapturedStatement> statements = recorder.record(check.call());
+                for (CapturedStatement statement : statements) {
+                    List<String> problems = problems(showPlan(dataSource, statement), check.allowedScans());
+                    System.out.printf("%-4s %s%n", problems.isEmpty() ? "ok" : "FAIL", check.name());
+                    if (!problems.isEmpty()) {
+                        passed = false;
+                        System.out.println("     " + statement.sql().replaceAll("\\s+", " "));
+                        problems.forEach(problem -> System.out.println("     " + problem));
+                    }
+                }
+            }
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    /** Estimated plan of one captured statement, with the same parameter values. */
+    private static Document showPlan(DataSource dataSource, CapturedStatement captured) throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET SHOWPLAN_XML ON");
+            }
+            try (PreparedStatement statement = connection.prepareStatement(captured.sql())) {
+                for (Map.Entry<Integer, Object> parameter : captured.parameters().entrySet()) {
+                    statement.setObject(parameter.getKey(), parameter.getValue());
+                }
+                try (ResultSet plan = statement.executeQuery()) {
+                    plan.next();
+                    DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+                    factory.setNamespaceAware(true);
+                    return factory.newDocumentBuilder().parse(new InputSource(new StringReader(plan.getString(1))));
+                }
+            } finally {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET SHOWPLAN_XML OFF");
+                }
+            }
+        }
+    }
+
+    private static List<String> problems(Document plan, Set<String> allowedScans) {
+        List<String> problems = new ArrayList<>();
+        NodeList relOps = plan.getElementsByTagNameNS(SHOWPLAN_NS, "RelOp");
+        for (int i = 0; i < relOps.getLength(); i++) {
+            Element relOp = (Element) relOps.item(i);
+            String op = relOp.getAttribute("PhysicalOp");
+            if (!SCANS.contains(op)) {
+                continue;
+            }
+            String index = scannedIndex(relOp);
+            if (allowedScans.contains(index) || underTop(relOp)) {
+                continue;
+            }
+            problems.add(op + " on " + scannedTable(relOp) + (index.isEmpty() ? "" : "." + index)
+                    + " (estimated rows " + relOp.getAttribute("EstimateRows") + ")");
+        }
+        return problems;
+    }
+
+    /** A scan feeding a {@code Top} without a sort or hash in between reads only the rows it returns. */
+    private static boolean underTop(Element relOp) {
+        for (Node node = relOp.getParentNode(); node != null; node = node.getParentNode()) {
+            if (node instanceof Element element && "RelOp".equals(element.getLocalName())) {
+                String op = element.getAttribute("PhysicalOp");
+                if (op.equals("Top")) {
+                    return true;
+                }
+                if (BLOCKING.contains(op)) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String scannedIndex(Element relOp) {
+        Element object = scannedObject(relOp);
+        return object == null ? "" : unquote(object.getAttribute("Index"));
+    }
+
+    private static String scannedTable(Element relOp) {
+        Element object = scannedObject(relOp);
+        return object == null ? "?" : unquote(object.getAttribute("Schema")) + "." + unquote(object.getAttribute("Table"));
+    }
+
+    /** The {@code Object} element of the scan itself, not of a nested operator. */
+    private static Element scannedObject(Element relOp) {
+        for (Node child = relOp.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child instanceof Element operator) {
+                NodeList objects = operator.getElementsByTagNameNS(SHOWPLAN_NS, "Object");
+                if (objects.getLength() > 0) {
+                    return (Element) objects.item(0);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String unquote(String name) {
+        return name.replace("[", "").replace("]", "");
+    }
+
+    /**
+     * Records the prepared statements and their parameters while {@link Recorder#record} runs;
+     * otherwise hands out connections unchanged.
+     */
+    static final class CapturingDataSource extends DelegatingDataSource {
+        private final Recorder recorder;
+
+        private CapturingDataSource(DataSource target, Recorder recorder) {
+            super(target);
+            this.recorder = recorder;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+            return recorder.captured == null ? connection : proxy(Connection.class, connection, recorder);
+        }
+
+        static final class Recorder implements BeanPostProcessor {
+            private volatile List<CapturedStatement> captured;
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof CapturingDataSource)) {
+                    return new CapturingDataSource(dataSource, this);
+                }
+                return bean;
+            }
+
+            List<CapturedStatement> record(Runnable call) {
+                captured = new ArrayList<>();
+                try {
+                    call.run();
+                    return captured;
+                } finally {
+                    captured = null;
+                }
+            }
+        }
+
+        private static Object proxy(Class<?> type, Object target, Recorder recorder) {
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (p, method, args) -> {
+                Object result = invoke(method, target, args);
+                if (result instanceof PreparedStatement && method.getName().equals("prepareStatement")) {
+                    CapturedStatement statement = new CapturedStatement((String) args[0], new TreeMap<>());
+                    return statementProxy((PreparedStatement) result, statement, recorder);
+                }
+                return result;
+            });
+        }
+
+        private static PreparedStatement statementProxy(PreparedStatement target, CapturedStatement statement,
+                                                        Recorder recorder) {
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, (p, method, args) -> {
+                        String name = method.getName();
+                        if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                            statement.parameters().put(index, name.equals("setNull") ? null : args[1]);
+                        } else if (name.startsWith("execute") && recorder.captured != null) {
+                            recorder.captured.add(statement);
+                        }
+                        return invoke(method, target, args);
+                    });
+        }
+
+        private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.tasks.benchmarks;
+
+import com.example.tasks.dto.TaskSummary;
+import com.example.tasks.model.Task;
+import com.example.tasks.model.TaskStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a page of tasks, as entities and as projections,
+ * with an ObjectMapper configured like Spring Boot's.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<Task> taskPage;
+    private Page<TaskSummary> summaryPage;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        LocalDateTime now = LocalDateTime.now();
+        List<Task> tasks = new ArrayList<>(pageSize);
+        List<TaskSummary> summaries = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            TaskStatus status = TaskStatus.values()[i % TaskStatus.values().length];
+            String title = "Task " + i;
+            String description = "Quarterly planning notes, review items and follow-ups #" + i;
+            tasks.add(Task.builder()
+                    .taskId(i)
+                    .title(title)
+                    .description(description)
+                    .status(status)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+            summaries.add(new TaskSummary(i, title, description, status, 1, now, now));
+        }
+        taskPage = new PageImpl<>(tasks, PageRequest.of(0, pageSize), 10_000);
+        summaryPage = new PageImpl<>(summaries, PageRequest.of(0, pageSize), 10_000);
+    }
+
+    @Benchmark
+    public byte[] serializeTaskPage() throws Exception {
+        return objectMapper.writeValueAsBytes(taskPage);
+    }
+
+    @Benchmark
+    public byte[] serializeTaskSummaryPage() throws Exception {
+        return objectMapper.writeValueAsBytes(summaryPage);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.tasks.benchmarks;
+
+import com.example.tasks.dto.CreateTaskRequest;
+import com.example.tasks.dto.TaskSummary;
+import com.example.tasks.dto.UpdateTaskRequest;
+import com.example.tasks.model.Task;
+import com.example.tasks.model.TaskStatus;
+import com.example.tasks.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TaskService} create, list and update against a seeded database.
+ * Dataset size: {@code -p users=... -p tasksPerUser=...}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TaskServiceBenchmark {
+
+    @Param({"1000"})
+    public int users;
+
+    @Param({"20"})
+    public int tasksPerUser;
+
+    private BenchmarkContext context;
+    private TaskService taskService;
+    private List<Integer> userIds;
+    private List<Integer> taskIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start().seed(users, tasksPerUser);
+        taskService = context.bean(TaskService.class);
+        userIds = context.userIds();
+        taskIds = context.taskIds();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Task createTask() {
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setUserId(randomUserId());
+        request.setTitle("Benchmark task");
+        request.setDescription("Created by TaskServiceBenchmark");
+        return taskService.createTask(request);
+    }
+
+    @Benchmark
+    public Page<TaskSummary> getTasksByUserId() {
+        return taskService.getTasksByUserId(randomUserId(), PageRequest.of(0, 20));
+    }
+
+    @Benchmark
+    public Task updateTask() {
+        Integer taskId = taskIds.get(ThreadLocalRandom.current().nextInt(taskIds.size()));
+        UpdateTaskRequest request = new UpdateTaskRequest();
+        request.setTitle("Updated benchmark task");
+        request.setStatus(TaskStatus.values()[ThreadLocalRandom.current().nextInt(TaskStatus.values().length)]);
+        return taskService.updateTask(taskId, request);
+    }
+
+    private Integer randomUserId() {
+        return userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.tasks.benchmarks;
+
+import com.example.tasks.exception.ResourceAlreadyExistsException;
+import com.example.tasks.model.User;
+import com.example.tasks.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link UserService#createUser} through each of its branches: a new user, a duplicate
+ * username rejected, and a soft-deleted user reactivated.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UserServiceBenchmark {
+
+    @Param({"10000"})
+    public int users;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private BenchmarkContext context;
+    private UserService userService;
+    private List<Integer> userIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start().seed(users, 0);
+        userService = context.bean(UserService.class);
+        userIds = context.userIds();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public User createNewUser() {
+        long n = sequence.incrementAndGet();
+        return userService.createUser(user("bench.new." + n, "bench.new." + n + "@example.com"));
+    }
+
+    @Benchmark
+    public Object createDuplicateUser() {
+        int i = ThreadLocalRandom.current().nextInt(users);
+        try {
+            return userService.createUser(user("seed.user." + i, "other." + i + "@example.com"));
+        } catch (ResourceAlreadyExistsException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public User reactivateUser(Reactivation reactivation) {
+        return userService.createUser(user(reactivation.username, reactivation.email));
+    }
+
+    /**
+     * Soft-deletes a seeded user before each invocation, outside the measured time.
+     */
+    @State(Scope.Thread)
+    public static class Reactivation {
+        String username;
+        String email;
+
+        @Setup(Level.Invocation)
+        public void softDelete(UserServiceBenchmark benchmark) {
+            int i = ThreadLocalRandom.current().nextInt(benchmark.users);
+            benchmark.userService.deleteUserById(benchmark.userIds.get(i));
+            username = "seed.user." + i;
+            email = "seed.user." + i + "@example.com";
+        }
+    }
+
+    private static User user(String username, String email) {
+        return User.builder()
+                .username(username)
+                .fullName("Benchmark User")
+                .email(email)
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.tasks.loadtest;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ids the scenarios act on. Seeded users and tasks are read and updated; deletes only
+ * consume users and tasks created for that purpose, so the read set stays stable.
+ */
+final class DataPool {
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final List<Integer> userIds;
+    private final List<Integer> taskIds;
+    private final Queue<Integer> disposableUsers = new ConcurrentLinkedQueue<>();
+    private final Queue<Integer> disposableTasks = new ConcurrentLinkedQueue<>();
+
+    DataPool(List<Integer> userIds, List<Integer> taskIds) {
+        this.userIds = List.copyOf(userIds);
+        this.taskIds = List.copyOf(taskIds);
+    }
+
+    int randomUserId() {
+        return userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+    }
+
+    int randomTaskId() {
+        return taskIds.get(ThreadLocalRandom.current().nextInt(taskIds.size()));
+    }
+
+    /**
+     * A username unique to this run, valid for the API's username rules.
+     */
+    String uniqueName() {
+        return "lt." + runId + "." + sequence.incrementAndGet();
+    }
+
+    void addDisposableUser(int userId) {
+        disposableUsers.add(userId);
+    }
+
+    void addDisposableTask(int taskId) {
+        disposableTasks.add(taskId);
+    }
+
+    Integer takeDisposableUser() {
+        return disposableUsers.poll();
+    }
+
+    Integer takeDisposableTask() {
+        return disposableTasks.poll();
+    }
+}
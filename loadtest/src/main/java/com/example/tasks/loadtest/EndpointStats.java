@@ -0,0 +1,59 @@
+package com.example.tasks.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram (microseconds, 3 significant digits) and error counts for one endpoint,
+ * plus the most SQL statements one response reported in {@code X-Query-Count}.
+ */
+final class EndpointStats {
+    static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    final String name;
+    final ConcurrentHistogram latencies = new ConcurrentHistogram(1, MAX_LATENCY_MICROS, 3);
+    final LongAdder errors = new LongAdder();
+    final LongAdder skipped = new LongAdder();
+    /** -1 until a response carries the header. */
+    final LongAccumulator maxQueries = new LongAccumulator(Math::max, -1);
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    void recordSuccess(long latencyNanos) {
+        latencies.recordValue(Math.min(MAX_LATENCY_MICROS, Math.max(1, latencyNanos / 1_000)));
+    }
+
+    void recordQueries(long statements) {
+        maxQueries.accumulate(statements);
+    }
+
+    void recordError() {
+        errors.increment();
+    }
+
+    void reset() {
+        latencies.reset();
+        errors.reset();
+        skipped.reset();
+        maxQueries.reset();
+    }
+
+    long requests() {
+        return latencies.getTotalCount() + errors.sum();
+    }
+
+    double errorRate() {
+        long requests = requests();
+        return requests == 0 ? 0 : (double) errors.sum() / requests;
+    }
+
+    static double millis(Histogram histogram, double percentile) {
+        return histogram.getTotalCount() == 0 ? 0 : histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.tasks.loadtest;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command-line options of {@link LoadHarness}; see the README for descriptions.
+ */
+final class HarnessOptions {
+    /**
+     * Default request mix by Postman request name: mostly reads, with enough creates
+     * to keep the delete scenarios supplied.
+     */
+    static final Map<String, Integer> DEFAULT_MIX = Map.of(
+            "Get User Tasks", 30,
+            "Get User by ID", 20,
+            "Get All Users", 10,
+            "Create Task", 10,
+            "Update Task", 10,
+            "Delete Task", 5,
+            "Get External Users", 5,
+            "Create User", 4,
+            "Update User", 4,
+            "Delete User", 2);
+
+    enum Model { CLOSED, OPEN }
+
+    Path collection = Path.of("../tasks-api.postman_collection.json");
+    String target = "http://localhost:8080";
+    Path appJar;
+    int appPort = 8080;
+    final List<String> appArgs = new ArrayList<>();
+    Path appLog = Path.of("target/app.log");
+    int stubPort;
+    long stubLatencyMs = 20;
+    double stubErrorRate;
+    int stubUsers = 100;
+
+    Model model = Model.CLOSED;
+    int concurrency = 64;
+    long thinkMs;
+    int rate = 200;
+    int maxInFlight = 1000;
+    int durationSeconds = 60;
+    int warmupSeconds = 10;
+    int timeoutSeconds = 10;
+
+    int users = 200;
+    int tasksPerUser = 10;
+    int disposableUsers = 100;
+    final Map<String, Integer> mix = new LinkedHashMap<>(DEFAULT_MIX);
+
+    Double maxP99Ms;
+    Double minThroughput;
+    Double maxErrorRate;
+    Integer maxQueries;
+    final Map<String, Integer> queryBudgets = new LinkedHashMap<>();
+    Path out;
+
+    static HarnessOptions parse(String[] args) {
+        HarnessOptions options = new HarnessOptions();
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--collection" -> options.collection = Path.of(value);
+                case "--target" -> options.target = value;
+                case "--app-jar" -> options.appJar = Path.of(value);
+                case "--app-port" -> options.appPort = Integer.parseInt(value);
+                case "--app-arg" -> options.appArgs.add(value);
+                case "--app-log" -> options.appLog = Path.of(value);
+                case "--stub-port" -> options.stubPort = Integer.parseInt(value);
+                case "--stub-latency-ms" -> options.stubLatencyMs = Long.parseLong(value);
+                case "--stub-error-rate" -> options.stubErrorRate = Double.parseDouble(value);
+                case "--stub-users" -> options.stubUsers = Integer.parseInt(value);
+                case "--model" -> options.model = Model.valueOf(value.toUpperCase());
+                case "--concurrency" -> options.concurrency = Integer.parseInt(value);
+                case "--think-ms" -> options.thinkMs = Long.parseLong(value);
+                case "--rate" -> options.rate = Integer.parseInt(value);
+                case "--max-in-flight" -> options.maxInFlight = Integer.parseInt(value);
+                case "--duration" -> options.durationSeconds = Integer.parseInt(value);
+                case "--warmup" -> options.warmupSeconds = Integer.parseInt(value);
+                case "--timeout" -> options.timeoutSeconds = Integer.parseInt(value);
+                case "--users" -> options.users = Integer.parseInt(value);
+                case "--tasks-per-user" -> options.tasksPerUser = Integer.parseInt(value);
+                case "--disposable-users" -> options.disposableUsers = Integer.parseInt(value);
+                case "--mix" -> parseWeights(value, options.mix);
+                case "--max-p99-ms" -> options.maxP99Ms = Double.parseDouble(value);
+                case "--min-throughput" -> options.minThroughput = Double.parseDouble(value);
+                case "--max-error-rate" -> options.maxErrorRate = Double.parseDouble(value);
+                case "--max-queries" -> options.maxQueries = Integer.parseInt(value);
+                case "--query-budget" -> parseWeights(value, options.queryBudgets);
+                case "--out" -> options.out = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        if (options.appJar != null && options.stubPort == 0) {
+            options.stubPort = 8089;
+        }
+        return options;
+    }
+
+    /**
+     * {@code "Get User Tasks=50,Create Task=10"}, keyed by Postman request name. For {@code --mix}
+     * listed weights replace the defaults and a weight of 0 disables a request.
+     */
+    private static void parseWeights(String value, Map<String, Integer> target) {
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split("=", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected name=value: " + entry);
+            }
+            target.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+    }
+}
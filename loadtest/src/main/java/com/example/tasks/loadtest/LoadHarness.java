@@ -0,0 +1,263 @@
+package com.example.tasks.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replays the request mix of the Postman collection against the API and reports
+ * HdrHistogram latency percentiles per endpoint. Exits with status 1 when a
+ * {@code --max-p99-ms}, {@code --min-throughput} or {@code --max-error-rate} threshold fails, or when
+ * an endpoint executes more SQL statements than {@code --max-queries} / {@code --query-budget} allow.
+ * <p>
+ * With {@code --app-jar} the application is started locally with the {@code local} profile
+ * (embedded H2) and a stub external API; otherwise {@code --target} is used as is.
+ */
+public class LoadHarness {
+    private static final int SEED_BATCH = 500;
+
+    public static void main(String[] args) throws Exception {
+        HarnessOptions options = HarnessOptions.parse(args);
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+        StubExternalApi stub = null;
+        AppProcess app = null;
+        boolean passed;
+        try {
+            if (options.stubPort > 0) {
+                stub = StubExternalApi.start(options.stubPort, options.stubUsers,
+                        options.stubLatencyMs, options.stubErrorRate);
+            }
+            String baseUrl = options.target;
+            if (options.appJar != null) {
+                // Responses report their statement count in X-Query-Count for the query budgets
+                options.appArgs.add("--tasks.query-accounting.response-headers=true");
+                app = AppProcess.start(options.appJar, options.appPort, "http://localhost:" + options.stubPort,
+                        options.appArgs, options.appLog);
+                baseUrl = app.baseUrl();
+            }
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            List<Scenario> scenarios = scenarios(options, mapper);
+            DataPool pool = seed(client, baseUrl, options, mapper);
+            Workload workload = new Workload(client, baseUrl, pool, scenarios, options);
+
+            if (options.warmupSeconds > 0) {
+                System.out.printf("Warming up for %d s%n", options.warmupSeconds);
+                workload.run(options.warmupSeconds);
+                scenarios.forEach(scenario -> scenario.stats.reset());
+            }
+            System.out.printf("Measuring for %d s (%s loop, %s)%n", options.durationSeconds,
+                    options.model.name().toLowerCase(), options.model == HarnessOptions.Model.OPEN
+                            ? options.rate + " req/s" : options.concurrency + " workers");
+            double seconds = workload.run(options.durationSeconds) / 1e9;
+
+            passed = report(scenarios, seconds, options, mapper);
+        } finally {
+            if (app != null) {
+                app.close();
+            }
+            if (stub != null) {
+                stub.close();
+            }
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static List<Scenario> scenarios(HarnessOptions options, ObjectMapper mapper) throws IOException {
+        List<Scenario> scenarios = new ArrayList<>();
+        for (PostmanCollection.RequestTemplate template : PostmanCollection.load(options.collection, mapper)) {
+            int weight = options.mix.getOrDefault(template.name(), 1);
+            if (weight > 0) {
+                scenarios.add(new Scenario(template, weight, mapper));
+            }
+        }
+        if (scenarios.isEmpty()) {
+            throw new IllegalArgumentException("No requests selected from " + options.collection);
+        }
+        return scenarios;
+    }
+
+    /**
+     * Create the users and tasks the scenarios read and update, plus users to delete.
+     */
+    private static DataPool seed(HttpClient client, String baseUrl, HarnessOptions options, ObjectMapper mapper)
+            throws IOException, InterruptedException {
+        System.out.printf("Seeding %d users with %d tasks each%n", options.users, options.tasksPerUser);
+        DataPool names = new DataPool(List.of(), List.of());
+        List<Integer> userIds = new ArrayList<>();
+        for (int i = 0; i < options.users + options.disposableUsers; i++) {
+            ObjectNode user = mapper.createObjectNode();
+            String name = names.uniqueName();
+            user.put("username", name);
+            user.put("fullName", "Load Test User " + i);
+            user.put("email", name + "@example.com");
+            userIds.add(post(client, baseUrl + "/api/users", user, mapper).get("userId").asInt());
+        }
+        List<Integer> readUsers = userIds.subList(0, options.users);
+
+        List<Integer> taskIds = new ArrayList<>();
+        ArrayNode batch = mapper.createArrayNode();
+        for (Integer userId : readUsers) {
+            for (int t = 0; t < options.tasksPerUser; t++) {
+                ObjectNode task = batch.addObject();
+                task.put("userId", userId);
+                task.put("title", "Load test task " + t);
+                task.put("description", "Seeded by the load harness");
+                if (batch.size() == SEED_BATCH) {
+                    taskIds.addAll(postTasks(client, baseUrl, batch, mapper));
+                    batch = mapper.createArrayNode();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            taskIds.addAll(postTasks(client, baseUrl, batch, mapper));
+        }
+        if (taskIds.isEmpty()) {
+            throw new IllegalArgumentException("--tasks-per-user must be at least 1");
+        }
+
+        DataPool pool = new DataPool(readUsers, taskIds);
+        userIds.subList(options.users, userIds.size()).forEach(pool::addDisposableUser);
+        return pool;
+    }
+
+    private static List<Integer> postTasks(HttpClient client, String baseUrl, ArrayNode tasks, ObjectMapper mapper)
+            throws IOException, InterruptedException {
+        ObjectNode request = mapper.createObjectNode();
+        request.set("tasks", tasks);
+        List<Integer> ids = new ArrayList<>();
+        for (JsonNode result : post(client, baseUrl + "/api/tasks/bulk", request, mapper).path("results")) {
+            if (result.hasNonNull("taskId")) {
+                ids.add(result.get("taskId").asInt());
+            }
+        }
+        return ids;
+    }
+
+    private static JsonNode post(HttpClient client, String url, JsonNode body, ObjectMapper mapper)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(body)))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IOException("Seeding failed: POST " + url + " returned " + response.statusCode()
+                    + ": " + response.body());
+        }
+        return mapper.readTree(response.body());
+    }
+
+    /**
+     * Print the per-endpoint table, write the JSON report and evaluate the thresholds.
+     */
+    private static boolean report(List<Scenario> scenarios, double seconds, HarnessOptions options,
+                                  ObjectMapper mapper) throws IOException {
+        Histogram overall = new Histogram(1, EndpointStats.MAX_LATENCY_MICROS, 3);
+        long errors = 0;
+        ObjectNode json = mapper.createObjectNode();
+        json.put("timestamp", Instant.now().toString());
+        json.put("model", options.model.name().toLowerCase());
+        json.put("concurrency", options.concurrency);
+        json.put("rate", options.rate);
+        json.put("durationSeconds", seconds);
+        ArrayNode endpoints = json.putArray("endpoints");
+        List<String> failures = new ArrayList<>();
+
+        System.out.println();
+        System.out.printf("%-20s %8s %7s %8s %9s %9s %9s %9s %9s %8s%n",
+                "endpoint", "ok", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "max sql");
+        for (Scenario scenario : scenarios) {
+            EndpointStats stats = scenario.stats;
+            Histogram histogram = stats.latencies.copy();
+            overall.add(histogram);
+            errors += stats.errors.sum();
+            long maxQueries = stats.maxQueries.get();
+            print(scenario.name, histogram, stats.errors.sum(), seconds, maxQueries);
+            endpoints.add(toJson(mapper, scenario.name, histogram, stats.errors.sum(), stats.skipped.sum(), seconds)
+                    .put("maxQueries", maxQueries));
+            Integer budget = options.queryBudgets.getOrDefault(scenario.name, options.maxQueries);
+            if (budget != null && histogram.getTotalCount() > 0) {
+                if (maxQueries < 0) {
+                    failures.add(scenario.name + " reported no X-Query-Count; "
+                            + "run the app with tasks.query-accounting.response-headers=true");
+                } else if (maxQueries > budget) {
+                    failures.add(String.format("%s executed %d SQL statements > budget %d",
+                            scenario.name, maxQueries, budget));
+                }
+            }
+            if (options.maxP99Ms != null && EndpointStats.millis(histogram, 99) > options.maxP99Ms) {
+                failures.add(String.format("%s p99 %.1f ms > %.1f ms",
+                        scenario.name, EndpointStats.millis(histogram, 99), options.maxP99Ms));
+            }
+        }
+        print("TOTAL", overall, errors, seconds, -1);
+        json.set("total", toJson(mapper, "TOTAL", overall, errors, 0, seconds));
+
+        double throughput = overall.getTotalCount() / seconds;
+        double errorRate = overall.getTotalCount() + errors == 0 ? 0 : (double) errors / (overall.getTotalCount() + errors);
+        if (options.maxP99Ms != null && EndpointStats.millis(overall, 99) > options.maxP99Ms) {
+            failures.add(String.format("overall p99 %.1f ms > %.1f ms", EndpointStats.millis(overall, 99), options.maxP99Ms));
+        }
+        if (options.minThroughput != null && throughput < options.minThroughput) {
+            failures.add(String.format("throughput %.1f req/s < %.1f req/s", throughput, options.minThroughput));
+        }
+        if (options.maxErrorRate != null && errorRate > options.maxErrorRate) {
+            failures.add(String.format("error rate %.4f > %.4f", errorRate, options.maxErrorRate));
+        }
+
+        System.out.println();
+        failures.forEach(failure -> System.out.println("FAIL: " + failure));
+        System.out.println(failures.isEmpty() ? "PASS" : "FAILED " + failures.size() + " threshold(s)");
+        json.put("passed", failures.isEmpty());
+        ArrayNode failed = json.putArray("failures");
+        failures.forEach(failed::add);
+        if (options.out != null) {
+            mapper.writeValue(options.out.toFile(), json);
+            System.out.println("Report written to " + options.out);
+        }
+        return failures.isEmpty();
+    }
+
+    private static void print(String name, Histogram histogram, long errors, double seconds, long maxQueries) {
+        System.out.printf("%-20s %8d %7d %8.1f %9.2f %9.2f %9.2f %9.2f %9.2f %8s%n",
+                name, histogram.getTotalCount(), errors, histogram.getTotalCount() / seconds,
+                EndpointStats.millis(histogram, 50), EndpointStats.millis(histogram, 90),
+                EndpointStats.millis(histogram, 99), EndpointStats.millis(histogram, 99.9),
+                histogram.getTotalCount() == 0 ? 0 : histogram.getMaxValue() / 1000.0,
+                maxQueries < 0 ? "-" : Long.toString(maxQueries));
+    }
+
+    private static ObjectNode toJson(ObjectMapper mapper, String name, Histogram histogram, long errors,
+                                     long skipped, double seconds) {
+        ObjectNode node = mapper.createObjectNode();
+        node.put("endpoint", name);
+        node.put("ok", histogram.getTotalCount());
+        node.put("errors", errors);
+        node.put("skipped", skipped);
+        node.put("throughput", histogram.getTotalCount() / seconds);
+        node.put("p50Ms", EndpointStats.millis(histogram, 50));
+        node.put("p90Ms", EndpointStats.millis(histogram, 90));
+        node.put("p99Ms", EndpointStats.millis(histogram, 99));
+        node.put("p999Ms", EndpointStats.millis(histogram, 99.9));
+        node.put("maxMs", histogram.getTotalCount() == 0 ? 0 : histogram.getMaxValue() / 1000.0);
+        return node;
+    }
+}
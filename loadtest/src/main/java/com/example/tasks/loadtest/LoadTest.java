@@ -0,0 +1,220 @@
+package com.example.tasks.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load driver. Each of {@code --concurrency} workers sends GET requests
+ * back to back for {@code --duration} seconds after a warm-up, then throughput and latency
+ * percentiles are reported per target.
+ * <p>
+ * Pass several {@code --target label=url} options to compare deployments, e.g. the same
+ * build started with {@code tasks.virtual-threads.enabled=false} and {@code =true}.
+ * <pre>
+ * java -jar target/tasks-loadtest.jar \
+ *     --target platform=http://localhost:8080 --target virtual=http://localhost:8081 \
+ *     --path "/api/tasks?userId=1&amp;size=20" --path /api/users/1 \
+ *     --concurrency 400 --duration 60 --out results.csv
+ * </pre>
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        List<Result> results = new ArrayList<>();
+        for (Map.Entry<String, String> target : options.targets.entrySet()) {
+            System.out.printf("Warming up %s for %d s%n", target.getKey(), options.warmupSeconds);
+            run(client, target.getValue(), options, options.warmupSeconds);
+            System.out.printf("Measuring %s for %d s with %d workers%n",
+                    target.getKey(), options.durationSeconds, options.concurrency);
+            Result result = run(client, target.getValue(), options, options.durationSeconds);
+            result.label = target.getKey();
+            results.add(result);
+        }
+
+        System.out.println();
+        System.out.printf("%-12s %10s %8s %8s %8s %8s %8s%n",
+                "target", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        for (Result result : results) {
+            System.out.printf("%-12s %10.1f %8d %8.1f %8.1f %8.1f %8.1f%n",
+                    result.label, result.throughput(), result.errors,
+                    result.percentileMs(50), result.percentileMs(90), result.percentileMs(99), result.percentileMs(100));
+        }
+        if (options.out != null) {
+            append(options.out, results, options);
+        }
+    }
+
+    private static Result run(HttpClient client, String baseUrl, Options options, int seconds) throws InterruptedException {
+        List<HttpRequest> requests = new ArrayList<>();
+        for (String path : options.paths) {
+            requests.add(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(options.timeoutSeconds))
+                    .GET()
+                    .build());
+        }
+
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        AtomicLong errors = new AtomicLong();
+        LatencyRecorder[] recorders = new LatencyRecorder[options.concurrency];
+        CountDownLatch done = new CountDownLatch(options.concurrency);
+        for (int w = 0; w < options.concurrency; w++) {
+            LatencyRecorder recorder = recorders[w] = new LatencyRecorder();
+            int offset = w;
+            Thread worker = new Thread(() -> {
+                try {
+                    for (long i = offset; System.nanoTime() < deadline; i++) {
+                        HttpRequest request = requests.get((int) (i % requests.size()));
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                            recorder.record(System.nanoTime() - start);
+                        } catch (IOException e) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }, "load-" + w);
+            worker.setDaemon(true);
+            worker.start();
+        }
+        done.await();
+
+        Result result = new Result();
+        result.seconds = seconds;
+        result.errors = errors.get();
+        result.latencies = LatencyRecorder.merge(recorders);
+        return result;
+    }
+
+    private static void append(Path out, List<Result> results, Options options) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        if (!Files.exists(out)) {
+            lines.append("timestamp,target,concurrency,seconds,requests,errors,throughput,p50_ms,p90_ms,p99_ms,max_ms\n");
+        }
+        for (Result result : results) {
+            lines.append(String.format("%s,%s,%d,%d,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f%n",
+                    Instant.now(), result.label, options.concurrency, result.seconds, result.latencies.length,
+                    result.errors, result.throughput(), result.percentileMs(50), result.percentileMs(90),
+                    result.percentileMs(99), result.percentileMs(100)));
+        }
+        Files.writeString(out, lines, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        System.out.println("Results appended to " + out);
+    }
+
+    /**
+     * Per-worker latency buffer, so recording needs no synchronization.
+     */
+    private static final class LatencyRecorder {
+        private long[] values = new long[1024];
+        private int size;
+
+        void record(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+
+        static long[] merge(LatencyRecorder[] recorders) {
+            int total = 0;
+            for (LatencyRecorder recorder : recorders) {
+                total += recorder.size;
+            }
+            long[] merged = new long[total];
+            int position = 0;
+            for (LatencyRecorder recorder : recorders) {
+                System.arraycopy(recorder.values, 0, merged, position, recorder.size);
+                position += recorder.size;
+            }
+            Arrays.sort(merged);
+            return merged;
+        }
+    }
+
+    private static final class Result {
+        String label;
+        int seconds;
+        long errors;
+        long[] latencies;
+
+        double throughput() {
+            return (double) latencies.length / seconds;
+        }
+
+        double percentileMs(double percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100 * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(index, latencies.length - 1))] / 1_000_000.0;
+        }
+    }
+
+    private static final class Options {
+        final Map<String, String> targets = new LinkedHashMap<>();
+        final List<String> paths = new ArrayList<>();
+        int concurrency = 200;
+        int durationSeconds = 30;
+        int warmupSeconds = 10;
+        int timeoutSeconds = 30;
+        Path out;
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (int i = 0; i < args.length; i++) {
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                switch (args[i]) {
+                    case "--target" -> {
+                        String[] parts = value.split("=", 2);
+                        options.targets.put(parts.length == 2 ? parts[0] : "target" + options.targets.size(),
+                                parts[parts.length - 1]);
+                    }
+                    case "--path" -> options.paths.add(value);
+                    case "--concurrency" -> options.concurrency = Integer.parseInt(value);
+                    case "--duration" -> options.durationSeconds = Integer.parseInt(value);
+                    case "--warmup" -> options.warmupSeconds = Integer.parseInt(value);
+                    case "--timeout" -> options.timeoutSeconds = Integer.parseInt(value);
+                    case "--out" -> options.out = Path.of(value);
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+                i++;
+            }
+            if (options.targets.isEmpty()) {
+                options.targets.put("default", "http://localhost:8080");
+            }
+            if (options.paths.isEmpty()) {
+                options.paths.add("/api/tasks?userId=1&size=20");
+                options.paths.add("/api/users/1");
+            }
+            return options;
+        }
+    }
+}
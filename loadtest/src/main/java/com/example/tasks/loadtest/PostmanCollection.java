@@ -0,0 +1,48 @@
+package com.example.tasks.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Reads the requests of a Postman v2.1 collection, flattening folders.
+ * The scheme, host and port (or a {@code {{baseUrl}}}-style variable) are stripped,
+ * so each request can be replayed against any target.
+ */
+final class PostmanCollection {
+    private static final Pattern ORIGIN = Pattern.compile("^(\\{\\{[^}]+}}|https?://[^/?]+)");
+
+    record RequestTemplate(String name, String method, String path, String body) {
+    }
+
+    private PostmanCollection() {
+    }
+
+    static List<RequestTemplate> load(Path file, ObjectMapper mapper) throws IOException {
+        List<RequestTemplate> requests = new ArrayList<>();
+        collect(mapper.readTree(file.toFile()).path("item"), requests);
+        return requests;
+    }
+
+    private static void collect(JsonNode items, List<RequestTemplate> requests) {
+        for (JsonNode item : items) {
+            if (item.has("item")) {
+                collect(item.get("item"), requests);
+                continue;
+            }
+            JsonNode request = item.path("request");
+            JsonNode url = request.path("url");
+            String raw = url.isTextual() ? url.asText() : url.path("raw").asText();
+            String path = ORIGIN.matcher(raw.trim()).replaceFirst("");
+            String body = request.path("body").path("raw").asText(null);
+            requests.add(new RequestTemplate(item.path("name").asText(),
+                    request.path("method").asText("GET"), path.isEmpty() ? "/" : path,
+                    body == null || body.isBlank() ? null : body));
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.tasks.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One request from the Postman collection, replayed with fresh data each time:
+ * ids in the path and the {@code userId} query parameter are drawn from the {@link DataPool},
+ * and {@code username}, {@code email} and {@code userId} in the body are replaced so
+ * creates and updates do not collide.
+ */
+final class Scenario {
+    private static final Pattern USER_PATH = Pattern.compile("^/api/users/\\d+$");
+    private static final Pattern TASK_PATH = Pattern.compile("^/api/tasks/\\d+$");
+    private static final Pattern USER_ID_PARAM = Pattern.compile("([?&]userId=)\\d+");
+
+    final String name;
+    final int weight;
+    final EndpointStats stats;
+    private final PostmanCollection.RequestTemplate template;
+    private final ObjectMapper mapper;
+
+    Scenario(PostmanCollection.RequestTemplate template, int weight, ObjectMapper mapper) {
+        this.name = template.name();
+        this.weight = weight;
+        this.stats = new EndpointStats(template.name());
+        this.template = template;
+        this.mapper = mapper;
+    }
+
+    /**
+     * @return The request to send, or {@code null} if there is nothing left to delete
+     */
+    HttpRequest build(String baseUrl, DataPool pool, Duration timeout) {
+        String path = template.path();
+        boolean delete = "DELETE".equalsIgnoreCase(template.method());
+        String plainPath = path.contains("?") ? path.substring(0, path.indexOf('?')) : path;
+        if (USER_PATH.matcher(plainPath).matches()) {
+            Integer userId = delete ? pool.takeDisposableUser() : Integer.valueOf(pool.randomUserId());
+            if (userId == null) {
+                return null;
+            }
+            path = "/api/users/" + userId + path.substring(plainPath.length());
+        } else if (TASK_PATH.matcher(plainPath).matches()) {
+            Integer taskId = delete ? pool.takeDisposableTask() : Integer.valueOf(pool.randomTaskId());
+            if (taskId == null) {
+                return null;
+            }
+            path = "/api/tasks/" + taskId + path.substring(plainPath.length());
+        }
+        Matcher userIdParam = USER_ID_PARAM.matcher(path);
+        if (userIdParam.find()) {
+            path = userIdParam.replaceFirst("$1" + pool.randomUserId());
+        }
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout);
+        String body = body(pool);
+        if (body != null) {
+            request.header("Content-Type", "application/json");
+        }
+        return request.method(template.method(), body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    /**
+     * Remember what a successful create made, so delete scenarios have something to remove.
+     */
+    void onSuccess(HttpResponse<String> response, DataPool pool) {
+        if (!"POST".equalsIgnoreCase(template.method()) || response.body() == null || response.body().isEmpty()) {
+            return;
+        }
+        try {
+            JsonNode created = mapper.readTree(response.body());
+            if (template.path().startsWith("/api/users") && created.hasNonNull("userId")) {
+                pool.addDisposableUser(created.get("userId").asInt());
+            } else if (template.path().startsWith("/api/tasks") && created.hasNonNull("taskId")) {
+                pool.addDisposableTask(created.get("taskId").asInt());
+            }
+        } catch (JsonProcessingException e) {
+            // Not a JSON entity; nothing to remember
+        }
+    }
+
+    private String body(DataPool pool) {
+        if (template.body() == null) {
+            return null;
+        }
+        try {
+            JsonNode node = mapper.readTree(template.body());
+            if (node instanceof ObjectNode object) {
+                if (object.has("username") || object.has("email")) {
+                    String unique = pool.uniqueName();
+                    if (object.has("username")) {
+                        object.put("username", unique);
+                    }
+                    if (object.has("email")) {
+                        object.put("email", unique + "@example.com");
+                    }
+                }
+                if (object.has("userId")) {
+                    object.put("userId", pool.randomUserId());
+                }
+            }
+            return mapper.writeValueAsString(node);
+        } catch (JsonProcessingException e) {
+            return template.body();
+        }
+    }
+}
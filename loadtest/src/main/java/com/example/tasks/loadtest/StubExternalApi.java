@@ -0,0 +1,92 @@
+package com.example.tasks.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Stand-in for the external users API ({@code GET /users}) with configurable latency and
+ * error rate. Responses carry an ETag and honour {@code If-None-Match} with a 304.
+ */
+final class StubExternalApi implements AutoCloseable {
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final byte[] users;
+    private final String etag;
+    private final long latencyMs;
+    private final double errorRate;
+
+    private StubExternalApi(int port, int userCount, long latencyMs, double errorRate) throws IOException {
+        this.latencyMs = latencyMs;
+        this.errorRate = errorRate;
+        this.users = usersJson(userCount);
+        this.etag = "\"users-" + userCount + "\"";
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "stub-external-api");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.setExecutor(executor);
+        server.createContext("/users", this::handleUsers);
+    }
+
+    static StubExternalApi start(int port, int userCount, long latencyMs, double errorRate) throws IOException {
+        StubExternalApi stub = new StubExternalApi(port, userCount, latencyMs, errorRate);
+        stub.server.start();
+        System.out.printf("Stub external API on http://localhost:%d/users (%d users, %d ms latency, %.1f%% errors)%n",
+                port, userCount, latencyMs, errorRate * 100);
+        return stub;
+    }
+
+    private void handleUsers(HttpExchange exchange) throws IOException {
+        try {
+            if (latencyMs > 0) {
+                Thread.sleep(latencyMs);
+            }
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, users.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(users);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static byte[] usersJson(int count) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 1; i <= count; i++) {
+            if (i > 1) {
+                json.append(',');
+            }
+            json.append(String.format("{\"id\":%d,\"name\":\"External User %d\",\"username\":\"external.user%d\","
+                    + "\"email\":\"external.user%d@example.com\"}", i, i, i, i));
+        }
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.tasks.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the scenario mix against a target.
+ * <ul>
+ *   <li>Closed loop: {@code concurrency} workers each send the next request as soon as the
+ *       previous one completes (plus optional think time). Throughput adapts to the server.</li>
+ *   <li>Open loop: requests are started at a fixed {@code rate} whatever the server does.
+ *       Latency is measured from the scheduled start, so queueing delay is not hidden
+ *       (no coordinated omission). Requests beyond {@code max-in-flight} count as errors.</li>
+ * </ul>
+ */
+final class Workload {
+    private final HttpClient client;
+    private final String baseUrl;
+    private final DataPool pool;
+    private final List<Scenario> scenarios;
+    private final int[] cumulativeWeights;
+    private final HarnessOptions options;
+    private final Duration timeout;
+
+    Workload(HttpClient client, String baseUrl, DataPool pool, List<Scenario> scenarios, HarnessOptions options) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.pool = pool;
+        this.scenarios = scenarios;
+        this.options = options;
+        this.timeout = Duration.ofSeconds(options.timeoutSeconds);
+        this.cumulativeWeights = new int[scenarios.size()];
+        int total = 0;
+        for (int i = 0; i < scenarios.size(); i++) {
+            total += scenarios.get(i).weight;
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    /**
+     * Run for {@code seconds} and return the elapsed time in nanoseconds.
+     */
+    long run(int seconds) throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+        if (options.model == HarnessOptions.Model.OPEN) {
+            runOpen(start, deadline);
+        } else {
+            runClosed(deadline);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private void runClosed(long deadline) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(options.concurrency);
+        for (int w = 0; w < options.concurrency; w++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    while (System.nanoTime() < deadline) {
+                        send(pick(), System.nanoTime()).join();
+                        if (options.thinkMs > 0) {
+                            Thread.sleep(options.thinkMs);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }, "load-" + w);
+            worker.setDaemon(true);
+            worker.start();
+        }
+        done.await();
+    }
+
+    private void runOpen(long start, long deadline) throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate;
+        AtomicInteger inFlight = new AtomicInteger();
+        for (long i = 0; ; i++) {
+            long scheduled = start + i * intervalNanos;
+            if (scheduled >= deadline) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Scenario scenario = pick();
+            if (inFlight.get() >= options.maxInFlight) {
+                scenario.stats.recordError();
+                continue;
+            }
+            inFlight.incrementAndGet();
+            send(scenario, scheduled).whenComplete((ignored, error) -> inFlight.decrementAndGet());
+        }
+        // Let requests started before the deadline finish
+        long drainDeadline = System.nanoTime() + timeout.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private CompletableFuture<Void> send(Scenario scenario, long scheduledNanos) {
+        HttpRequest request = scenario.build(baseUrl, pool, timeout);
+        if (request == null) {
+            scenario.stats.skipped.increment();
+            return CompletableFuture.completedFuture(null);
+        }
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, error) -> {
+                    long latencyNanos = System.nanoTime() - scheduledNanos;
+                    if (error != null || response.statusCode() >= 400) {
+                        scenario.stats.recordError();
+                    } else {
+                        scenario.stats.recordSuccess(latencyNanos);
+                        response.headers().firstValueAsLong("X-Query-Count")
+                                .ifPresent(scenario.stats::recordQueries);
+                        scenario.onSuccess(response, pool);
+                    }
+                    return null;
+                });
+    }
+
+    private Scenario pick() {
+        int ticket = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (ticket < cumulativeWeights[i]) {
+                return scenarios.get(i);
+            }
+        }
+        return scenarios.get(scenarios.size() - 1);
+    }
+}
@@ -10,6 +10,7 @@ public class TasksApplication {
         // Load .env file
         Dotenv dotenv = Dotenv.configure()
             .filename(".env")  // Using .env file
+            .ignoreIfMissing()  // Not needed with the local profile
             .load();
 
         // Set system properties from .env
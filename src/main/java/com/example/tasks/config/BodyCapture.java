@@ -0,0 +1,63 @@
+package com.example.tasks.config;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Keeps the first {@code limit} bytes of a request or response body.
+ * Bytes beyond the limit are counted but not stored.
+ */
+class BodyCapture {
+    private final int limit;
+    private byte[] buffer = new byte[0];
+    private int size;
+    private long total;
+
+    BodyCapture(int limit) {
+        this.limit = limit;
+    }
+
+    void write(int b) {
+        total++;
+        if (size < limit) {
+            ensureCapacity(size + 1);
+            buffer[size++] = (byte) b;
+        }
+    }
+
+    void write(byte[] bytes, int offset, int length) {
+        total += length;
+        int kept = Math.min(length, limit - size);
+        if (kept > 0) {
+            ensureCapacity(size + kept);
+            System.arraycopy(bytes, offset, buffer, size, kept);
+            size += kept;
+        }
+    }
+
+    void write(char[] chars, int offset, int length, Charset charset) {
+        if (size >= limit) {
+            total += length;
+            return;
+        }
+        // Encode only what can still be kept; the rest is counted approximately
+        int encoded = Math.min(length, limit - size);
+        byte[] bytes = new String(chars, offset, encoded).getBytes(charset);
+        write(bytes, 0, bytes.length);
+        total += length - encoded;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    boolean isTruncated() {
+        return total > size;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.min(limit, Math.max(required, buffer.length * 2 + 64)));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.tasks.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Stand-in for replication in the {@code replicas} profile: copies the in-memory H2 primary
+ * to each H2 replica with {@code SCRIPT}/{@code RUNSCRIPT} and stamps {@code replica_sync},
+ * which the profile's lag query reads. H2 only; a real deployment replicates in the database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "tasks.read-replicas.local-sync-interval-ms")
+public class LocalReplicaSync {
+    private final ReplicaRouter replicaRouter;
+
+    @Scheduled(fixedDelayString = "${tasks.read-replicas.local-sync-interval-ms}", initialDelay = 1000)
+    public void sync() {
+        Path script = null;
+        try {
+            script = Files.createTempFile("tasks-replica-", ".sql");
+            try (Connection connection = replicaRouter.primary().getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("SCRIPT TO " + literal(script));
+            }
+            for (ReplicaRouter.Replica replica : replicaRouter.replicas()) {
+                load(replica.pool(), script);
+            }
+        } catch (IOException | SQLException e) {
+            log.warn("Local replica sync failed: {}", e.getMessage());
+        } finally {
+            if (script != null) {
+                script.toFile().delete();
+            }
+        }
+    }
+
+    private static void load(HikariDataSource replica, Path script) throws SQLException {
+        try (Connection connection = replica.getConnection()) {
+            // The pool is read-only for the application, not for the sync
+            connection.setReadOnly(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP ALL OBJECTS");
+                statement.execute("RUNSCRIPT FROM " + literal(script));
+                statement.execute("CREATE TABLE PUBLIC.replica_sync(synced_at TIMESTAMP)");
+                statement.execute("INSERT INTO PUBLIC.replica_sync VALUES (CURRENT_TIMESTAMP)");
+            } finally {
+                connection.setReadOnly(true);
+            }
+        }
+    }
+
+    private static String literal(Path path) {
+        return "'" + path.toString().replace("'", "''") + "'";
+    }
+}
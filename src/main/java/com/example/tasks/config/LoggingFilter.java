@@ -1,103 +1,92 @@
 package com.example.tasks.config;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
-import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
-@Slf4j
+/**
+ * Captures request/response metadata and a size-capped body prefix, then hands the
+ * raw bytes to {@link RequestLogWriter}. No parsing or formatting happens on the request thread.
+ */
 @Component
 @RequiredArgsConstructor
 public class LoggingFilter extends OncePerRequestFilter {
 
-    private final ObjectMapper objectMapper;
+    private final RequestLogWriter requestLogWriter;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Value("${tasks.request-log.enabled:true}")
+    private boolean enabled;
+
+    @Value("${tasks.request-log.sample-rate:1.0}")
+    private double sampleRate;
+
+    @Value("${tasks.request-log.exclude-paths:/actuator/**}")
+    private List<String> excludePaths;
+
+    @Value("${tasks.request-log.max-body-bytes:2048}")
+    private int maxBodyBytes;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        for (String pattern : excludePaths) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
                                   HttpServletResponse response, 
                                   FilterChain filterChain) throws ServletException, IOException {
         
-        // Skip logging for actuator endpoints
-        if (request.getRequestURI().startsWith("/actuator")) {
-            filterChain.doFilter(request, response);
-            return;
-        }
-
-        // Wrap request and response to allow reading the body multiple times
-        ContentCachingRequestWrapper wrappedRequest = new ContentCachingRequestWrapper(request);
-        ContentCachingResponseWrapper wrappedResponse = new ContentCachingResponseWrapper(response);
+        BodyCapturingRequestWrapper wrappedRequest = new BodyCapturingRequestWrapper(request, maxBodyBytes);
+        BodyCapturingResponseWrapper wrappedResponse = new BodyCapturingResponseWrapper(response, maxBodyBytes);
 
-        // Record start time to calculate request duration
-        long startTime = System.currentTimeMillis();
-        
+        long startMillis = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
         try {
-            // Process the request
             filterChain.doFilter(wrappedRequest, wrappedResponse);
         } finally {
             // Always log the request/response, even if an exception occurs
-            long duration = System.currentTimeMillis() - startTime;
-            logRequestAndResponse(wrappedRequest, wrappedResponse, duration);
-            
-            // Important: Copy the response back to the original response
-            wrappedResponse.copyBodyToResponse();
-        }
-    }
-
-    private void logRequestAndResponse(ContentCachingRequestWrapper request,
-                                     ContentCachingResponseWrapper response,
-                                     long durationMs) throws IOException {
-        
-        // Log basic request info
-        log.info("\n=== Request ===\n" +
-                "{} {} {}\n" +
-                "From: {}\n" +
-                "Content-Type: {}",
-                request.getMethod(),
-                request.getRequestURI(),
-                request.getQueryString() != null ? "?" + request.getQueryString() : "",
-                request.getRemoteAddr(),
-                request.getContentType());
-
-        // Log request body if present
-        String requestBody = new String(request.getContentAsByteArray());
-        if (!requestBody.isBlank()) {
-            log.info("Request body: {}", formatJsonIfPossible(requestBody));
-        }
-
-        // Log response info
-        log.info("\n=== Response ({} ms) ===\n" +
-                "Status: {}\n" +
-                "Content-Type: {}",
-                durationMs,
-                response.getStatus(),
-                response.getContentType());
-
-        // Log response body if present
-        String responseBody = new String(response.getContentAsByteArray());
-        if (!responseBody.isBlank()) {
-            log.info("Response body: {}", formatJsonIfPossible(responseBody));
-        }
-    }
-
-    /**
-     * Pretty-print JSON if the input is valid JSON, otherwise return as-is
-     */
-    private String formatJsonIfPossible(String json) {
-        try {
-            Object jsonObject = objectMapper.readValue(json, Object.class);
-            return objectMapper.writerWithDefaultPrettyPrinter()
-                             .writeValueAsString(jsonObject);
-        } catch (Exception e) {
-            return json; // Return original if not valid JSON
+            long durationMicros = (System.nanoTime() - startNanos) / 1_000;
+            QueryCounter.Scope queries = QueryCounter.current();
+            QueryCounter.Counts counts = queries != null ? queries.snapshot() : null;
+            requestLogWriter.submit(RequestLogEvent.builder()
+                    .timestamp(startMillis)
+                    .method(request.getMethod())
+                    .uri(request.getRequestURI())
+                    .query(request.getQueryString())
+                    .remoteAddr(request.getRemoteAddr())
+                    .status(wrappedResponse.getStatus())
+                    .durationMicros(durationMicros)
+                    .statements(counts != null ? counts.getStatements() : null)
+                    .rows(counts != null ? counts.getRows() : null)
+                    .requestContentType(request.getContentType())
+                    .responseContentType(wrappedResponse.getContentType())
+                    .requestEncoding(request.getCharacterEncoding())
+                    .responseEncoding(wrappedResponse.getCharacterEncoding())
+                    .requestBody(wrappedRequest.getCapture().toByteArray())
+                    .requestBodyTruncated(wrappedRequest.getCapture().isTruncated())
+                    .responseBody(wrappedResponse.getCapture().toByteArray())
+                    .responseBodyTruncated(wrappedResponse.getCapture().isTruncated())
+                    .build());
         }
     }
 }
@@ -0,0 +1,62 @@
+package com.example.tasks.config;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+
+/**
+ * Request timers tagged by controller method, and the DataSource wrapper behind
+ * per-request statement accounting. Histogram and percentile settings live in
+ * {@code application.properties} under {@code management.metrics.distribution}.
+ */
+@Slf4j
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Adds a {@code handler} tag ({@code TaskController#getTasks}) to {@code http.server.requests}.
+     */
+    @Bean
+    public ServerRequestObservationConvention handlerTaggingObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                return super.getLowCardinalityKeyValues(context).and(handler(context));
+            }
+        };
+    }
+
+    private static KeyValue handler(ServerRequestObservationContext context) {
+        Object handler = context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod method) {
+            return KeyValue.of("handler", method.getBeanType().getSimpleName() + "#" + method.getMethod().getName());
+        }
+        return KeyValue.of("handler", "none");
+    }
+
+    @Bean
+    public static BeanPostProcessor statementCountingDataSource(Environment environment) {
+        boolean enabled = environment.getProperty("tasks.query-accounting.enabled", Boolean.class, true);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (enabled && bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+                    log.info("Counting JDBC statements per request on DataSource '{}'", beanName);
+                    return new StatementCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
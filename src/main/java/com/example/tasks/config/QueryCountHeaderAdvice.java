@@ -0,0 +1,41 @@
+package com.example.tasks.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Debug aid: adds the request's database work as {@code X-Query-Count}, {@code X-Query-Rows}
+ * and {@code X-Connection-Wait-Micros} headers when {@code tasks.query-accounting.response-headers=true}.
+ * The body is written after this runs, so the counts are final for everything but streamed responses.
+ */
+@ControllerAdvice
+public class QueryCountHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    @Value("${tasks.query-accounting.response-headers:false}")
+    private boolean enabled;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return enabled;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        QueryCounter.Scope scope = QueryCounter.current();
+        if (scope != null) {
+            QueryCounter.Counts counts = scope.snapshot();
+            response.getHeaders().set("X-Query-Count", Long.toString(counts.getStatements()));
+            response.getHeaders().set("X-Query-Rows", Long.toString(counts.getRows()));
+            response.getHeaders().set("X-Connection-Wait-Micros", Long.toString(counts.getConnectionWaitNanos() / 1_000));
+        }
+        return body;
+    }
+}
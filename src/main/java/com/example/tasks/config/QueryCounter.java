@@ -0,0 +1,114 @@
+package com.example.tasks.config;
+
+import lombok.Value;
+
+/**
+ * Per-thread JDBC accounting filled in by {@link StatementCountingDataSource}. Statements are
+ * only counted on threads inside an open {@link Scope}; {@link QueryAccountingFilter} opens one
+ * per HTTP request, and {@link #capture} opens one around any block of code (tests use it to
+ * put a statement budget on a code path).
+ * <p>
+ * Scopes nest: closing an inner scope adds its counts to the enclosing one.
+ */
+public final class QueryCounter {
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    /**
+     * Start counting on this thread; close the scope to stop.
+     */
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * @return The innermost open scope of this thread, or {@code null} if nothing is counting
+     */
+    public static Scope current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Run {@code action} and return what it did against the database.
+     */
+    public static Counts capture(Runnable action) {
+        try (Scope scope = open()) {
+            action.run();
+            return scope.snapshot();
+        }
+    }
+
+    /**
+     * Counts of one scope. Only touched by its own thread, so the fields are plain.
+     */
+    public static final class Scope implements AutoCloseable {
+        private final Scope parent;
+        private long statements;
+        private long rows;
+        private long connections;
+        private long connectionWaitNanos;
+        private boolean closed;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        void statementExecuted() {
+            statements++;
+        }
+
+        void rowsProcessed(long count) {
+            rows += count;
+        }
+
+        void connectionAcquired(long waitNanos) {
+            connections++;
+            connectionWaitNanos += waitNanos;
+        }
+
+        public Counts snapshot() {
+            return new Counts(statements, rows, connections, connectionWaitNanos);
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (parent != null) {
+                parent.statements += statements;
+                parent.rows += rows;
+                parent.connections += connections;
+                parent.connectionWaitNanos += connectionWaitNanos;
+            }
+            if (CURRENT.get() == this) {
+                if (parent == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(parent);
+                }
+            }
+        }
+    }
+
+    @Value
+    public static class Counts {
+        /** Statements sent to the database; a JDBC batch counts once. */
+        long statements;
+        /** Rows read from result sets plus rows reported as updated. */
+        long rows;
+        long connections;
+        long connectionWaitNanos;
+
+        @Override
+        public String toString() {
+            return statements + " statements, " + rows + " rows, " + connections + " connections ("
+                    + connectionWaitNanos / 1_000 + " µs waiting)";
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.tasks.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas for {@code @Transactional(readOnly = true)} work when
+ * {@code tasks.read-replicas.enabled=true}. Replaces Boot's DataSource with one bean,
+ * a {@link LazyConnectionDataSourceProxy} over the {@link ReplicaRouter}, so the other
+ * DataSource wrappers (statement counting, DB permits) still apply once, outermost.
+ * The primary pool keeps its {@code spring.datasource.*} settings.
+ */
+@Configuration
+@ConditionalOnProperty(name = "tasks.read-replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Value("${tasks.read-replicas.urls:}")
+    private List<String> urls;
+
+    @Value("${tasks.read-replicas.username:${spring.datasource.username:}}")
+    private String username;
+
+    @Value("${tasks.read-replicas.password:${spring.datasource.password:}}")
+    private String password;
+
+    @Value("${tasks.read-replicas.pool-size:10}")
+    private int poolSize;
+
+    @Value("${tasks.read-replicas.connection-timeout-ms:2000}")
+    private long connectionTimeoutMs;
+
+    @Value("${tasks.read-replicas.balancing:ROUND_ROBIN}")
+    private ReplicaRouter.Balancing balancing;
+
+    @Value("${tasks.read-replicas.health-check-interval-ms:5000}")
+    private long healthCheckIntervalMs;
+
+    @Value("${tasks.read-replicas.health-check-timeout-seconds:2}")
+    private int healthCheckTimeoutSeconds;
+
+    @Value("${tasks.read-replicas.lag-query:}")
+    private String lagQuery;
+
+    @Value("${tasks.read-replicas.max-lag-seconds:10}")
+    private long maxLagSeconds;
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRouter replicaRouter(DataSourceProperties properties, Environment environment,
+                                       MeterRegistry meterRegistry) {
+        List<String> replicaUrls = urls.stream().map(String::trim).filter(url -> !url.isEmpty()).toList();
+        if (replicaUrls.isEmpty()) {
+            throw new IllegalStateException("tasks.read-replicas.enabled=true requires at least one url in tasks.read-replicas.urls");
+        }
+        MicrometerMetricsTrackerFactory metrics = new MicrometerMetricsTrackerFactory(meterRegistry);
+
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName(ReplicaRouter.PRIMARY);
+        }
+        primary.setMetricsTrackerFactory(metrics);
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setJdbcUrl(url);
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setReadOnly(true);
+            replica.setMaximumPoolSize(poolSize);
+            // A replica that is down must not block startup or hold callers for long
+            replica.setConnectionTimeout(connectionTimeoutMs);
+            replica.setInitializationFailTimeout(-1);
+            replica.setMetricsTrackerFactory(metrics);
+            replicas.add(replica);
+        }
+        return new ReplicaRouter(primary, replicas, balancing, lagQuery, maxLagSeconds,
+                healthCheckTimeoutSeconds, healthCheckIntervalMs, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRouter replicaRouter) {
+        return new LazyConnectionDataSourceProxy(replicaRouter.routingDataSource());
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.tasks.config;
+
+/**
+ * Per-request routing state for read-your-writes. {@link ReadYourWritesFilter} opens it with
+ * whether the client wrote recently; {@link ReplicaRouter} keeps such requests, and the rest of
+ * a request once it has written, on the primary.
+ */
+final class ReadYourWrites {
+    private static final ThreadLocal<State> STATE = new ThreadLocal<>();
+
+    private static final class State {
+        private final boolean pinned;
+        private boolean wrote;
+
+        private State(boolean pinned) {
+            this.pinned = pinned;
+        }
+    }
+
+    private ReadYourWrites() {
+    }
+
+    static void begin(boolean pinned) {
+        STATE.set(new State(pinned));
+    }
+
+    /**
+     * @return whether the request used the primary for a read-write transaction
+     */
+    static boolean end() {
+        State state = STATE.get();
+        STATE.remove();
+        return state != null && state.wrote;
+    }
+
+    static boolean isPinned() {
+        State state = STATE.get();
+        return state != null && (state.pinned || state.wrote);
+    }
+
+    static void wrote() {
+        State state = STATE.get();
+        if (state != null) {
+            state.wrote = true;
+        }
+    }
+}
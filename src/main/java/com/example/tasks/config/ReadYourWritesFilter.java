@@ -0,0 +1,72 @@
+package com.example.tasks.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Read-your-writes with read replicas: a client whose request changed data (a read-write
+ * transaction, or any non-GET request, since batched creates commit on another thread) has its
+ * reads served by the primary for {@code pin-window-ms}, so it does not miss its own change on
+ * a lagging replica. Clients are told apart by the {@code client-id-header}
+ * (default {@code X-Client-Id}), else by remote address.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@ConditionalOnProperty(name = "tasks.read-replicas.enabled", havingValue = "true")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    @Value("${tasks.read-replicas.pin-window-ms:5000}")
+    private long pinWindowMs;
+
+    @Value("${tasks.read-replicas.client-id-header:X-Client-Id}")
+    private String clientIdHeader;
+
+    @Value("${tasks.read-replicas.max-pinned-clients:100000}")
+    private long maxPinnedClients;
+
+    private Cache<String, Boolean> pinned;
+
+    @PostConstruct
+    void init() {
+        pinned = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(pinWindowMs))
+                .maximumSize(maxPinnedClients)
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String client = clientKey(request);
+        ReadYourWrites.begin(pinned.getIfPresent(client) != null);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (ReadYourWrites.end() || !SAFE_METHODS.contains(request.getMethod())) {
+                pinned.put(client, Boolean.TRUE);
+            }
+        }
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String clientId = request.getHeader(clientIdHeader);
+        return clientId != null && !clientId.isBlank() ? "id:" + clientId : "addr:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.tasks.config;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * What in-process state needs to know about read replicas. A replica may lag the primary, so
+ * rows read there must not fill caches or indexes that writes keep current by eviction or
+ * adjustment: take a {@link #mark()} before loading and skip the fill if {@link #since} says a
+ * replica was read. Work that must see the latest data runs in {@link #onPrimary}.
+ * <p>
+ * Without {@code tasks.read-replicas.enabled} nothing is routed and every read counts as primary.
+ */
+public final class ReplicaReads {
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+    private static final Object TRANSACTION_KEY = new Object();
+
+    private static final class State {
+        private long replicaConnections;
+        private int primaryOnly;
+    }
+
+    private ReplicaReads() {
+    }
+
+    /**
+     * @return Token for {@link #since}, taken before a load whose result may be cached
+     */
+    public static long mark() {
+        return STATE.get().replicaConnections;
+    }
+
+    /**
+     * Whether data read since {@code mark} may come from a replica: a replica connection was taken
+     * on this thread since then, or the current transaction reads from one.
+     */
+    public static boolean since(long mark) {
+        return STATE.get().replicaConnections != mark || TransactionSynchronizationManager.hasResource(TRANSACTION_KEY);
+    }
+
+    /**
+     * Run {@code action} with all its transactions on the primary, including read-only ones.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        State state = STATE.get();
+        state.primaryOnly++;
+        try {
+            return action.get();
+        } finally {
+            state.primaryOnly--;
+        }
+    }
+
+    static boolean isPrimaryOnly() {
+        return STATE.get().primaryOnly > 0;
+    }
+
+    /**
+     * Record that the current transaction took its connection from a replica.
+     */
+    static void replicaRouted() {
+        STATE.get().replicaConnections++;
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.hasResource(TRANSACTION_KEY)) {
+            TransactionSynchronizationManager.bindResource(TRANSACTION_KEY, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_KEY);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.example.tasks.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Chooses the pool for each connection: read-only transactions go to a healthy replica,
+ * everything else, requests pinned by {@link ReadYourWritesFilter} and work run in
+ * {@link ReplicaReads#onPrimary}, to the primary.
+ * Replicas are checked in the background; one that fails {@link Connection#isValid} or whose
+ * {@code lag-query} reports more than {@code max-lag-seconds} is skipped until it recovers,
+ * and with no healthy replica reads fall back to the primary.
+ * <p>
+ * The routing happens when a statement first needs a connection, not when the transaction
+ * begins, so {@link #routingDataSource()} must be used behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}.
+ */
+@Slf4j
+public class ReplicaRouter implements AutoCloseable {
+    static final String PRIMARY = "primary";
+
+    public enum Balancing { ROUND_ROBIN, LEAST_IN_FLIGHT }
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final Balancing balancing;
+    private final String lagQuery;
+    private final long maxLagSeconds;
+    private final int checkTimeoutSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService checker;
+    private final Counter routedPrimary;
+    private final Counter routedReplica;
+    private final Counter fallbacks;
+
+    /** One replica pool with its health and the connections it has handed out. */
+    static final class Replica {
+        private final String name;
+        private final HikariDataSource pool;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile boolean healthy;
+        private volatile long lagSeconds = -1;
+
+        Replica(HikariDataSource pool) {
+            this.name = pool.getPoolName();
+            this.pool = pool;
+        }
+
+        HikariDataSource pool() {
+            return pool;
+        }
+    }
+
+    ReplicaRouter(HikariDataSource primary, List<HikariDataSource> replicaPools, Balancing balancing,
+                  String lagQuery, long maxLagSeconds, int checkTimeoutSeconds, long checkIntervalMs,
+                  MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicaPools.stream().map(Replica::new).toList();
+        this.balancing = balancing;
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+        this.checkTimeoutSeconds = checkTimeoutSeconds;
+
+        routedPrimary = routed(meterRegistry, "primary");
+        routedReplica = routed(meterRegistry, "replica");
+        fallbacks = routed(meterRegistry, "fallback");
+        for (Replica replica : replicas) {
+            Gauge.builder("tasks.datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+            Gauge.builder("tasks.datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Seconds reported by the lag query, -1 if unknown")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+            Gauge.builder("tasks.datasource.replica.in.flight", replica, r -> r.inFlight.get())
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+        }
+
+        checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checker.scheduleWithFixedDelay(this::checkAll, 0, checkIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Routing read-only transactions to {} replicas ({}, lag query {})",
+                replicas.size(), balancing, this.lagQuery != null ? "on" : "off");
+    }
+
+    /**
+     * The primary and one target per replica, keyed by {@link #route()}.
+     */
+    DataSource routingDataSource() {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (Replica replica : replicas) {
+            targets.put(replica.name, new InFlightDataSource(replica));
+        }
+        AbstractRoutingDataSource routing = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return route();
+            }
+        };
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primary);
+        routing.setLenientFallback(false);
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    HikariDataSource primary() {
+        return primary;
+    }
+
+    List<Replica> replicas() {
+        return replicas;
+    }
+
+    private Object route() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                ReadYourWrites.wrote();
+            }
+            routedPrimary.increment();
+            return PRIMARY;
+        }
+        if (ReadYourWrites.isPinned() || ReplicaReads.isPrimaryOnly()) {
+            routedPrimary.increment();
+            return PRIMARY;
+        }
+        Replica replica = choose();
+        if (replica == null) {
+            fallbacks.increment();
+            return PRIMARY;
+        }
+        routedReplica.increment();
+        ReplicaReads.replicaRouted();
+        return replica.name;
+    }
+
+    private Replica choose() {
+        if (replicas.isEmpty()) {
+            return null;
+        }
+        if (balancing == Balancing.LEAST_IN_FLIGHT) {
+            Replica best = null;
+            for (Replica replica : replicas) {
+                if (replica.healthy && (best == null || replica.inFlight.get() < best.inFlight.get())) {
+                    best = replica;
+                }
+            }
+            return best;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private void checkAll() {
+        replicas.forEach(this::check);
+    }
+
+    private void check(Replica replica) {
+        boolean healthy;
+        long lag = -1;
+        String problem = null;
+        try (Connection connection = replica.pool.getConnection()) {
+            healthy = connection.isValid(checkTimeoutSeconds);
+            if (!healthy) {
+                problem = "connection not valid";
+            } else if (lagQuery != null) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.setQueryTimeout(checkTimeoutSeconds);
+                    try (ResultSet result = statement.executeQuery(lagQuery)) {
+                        lag = result.next() ? result.getLong(1) : Long.MAX_VALUE;
+                    }
+                }
+                healthy = lag <= maxLagSeconds;
+                if (!healthy) {
+                    problem = "lagging " + lag + " s";
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            healthy = false;
+            problem = e.getMessage();
+        }
+        if (healthy != replica.healthy) {
+            if (healthy) {
+                log.info("Replica {} is healthy, routing reads to it", replica.name);
+            } else {
+                log.warn("Replica {} is unhealthy ({}), reads go elsewhere", replica.name, problem);
+            }
+        }
+        replica.lagSeconds = lag;
+        replica.healthy = healthy;
+    }
+
+    @Override
+    public void close() {
+        checker.shutdownNow();
+        replicas.forEach(replica -> replica.pool.close());
+        primary.close();
+    }
+
+    private static Counter routed(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("tasks.datasource.routed")
+                .description("Connections routed by target; fallback = read sent to the primary for lack of a healthy replica")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counts the connections of a replica that are checked out, for least-in-flight balancing.
+     */
+    private static final class InFlightDataSource extends DelegatingDataSource {
+        private final Replica replica;
+
+        private InFlightDataSource(Replica replica) {
+            super(replica.pool);
+            this.replica = replica;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+            replica.inFlight.incrementAndGet();
+            AtomicBoolean closed = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                    (proxy, method, args) -> {
+                        if ("close".equals(method.getName()) && closed.compareAndSet(false, true)) {
+                            replica.inFlight.decrementAndGet();
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.tasks.config;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Raw facts about one request/response pair, captured on the request thread.
+ * Formatting happens later on the {@link RequestLogWriter} thread.
+ */
+@Value
+@Builder
+public class RequestLogEvent {
+    long timestamp;
+    String method;
+    String uri;
+    String query;
+    String remoteAddr;
+    int status;
+    long durationMicros;
+    /** JDBC statements and rows of the request; {@code null} when query accounting is off. */
+    Long statements;
+    Long rows;
+    String requestContentType;
+    String responseContentType;
+    String requestEncoding;
+    String responseEncoding;
+    byte[] requestBody;
+    boolean requestBodyTruncated;
+    byte[] responseBody;
+    boolean responseBodyTruncated;
+}
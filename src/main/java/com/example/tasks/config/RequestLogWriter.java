@@ -0,0 +1,157 @@
+package com.example.tasks.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Background writer for request/response log events.
+ * Request threads only enqueue; when the bounded queue is full the event is dropped
+ * and counted instead of blocking. The writer thread formats each event as one line of JSON.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RequestLogWriter {
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long DROP_REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final ObjectMapper objectMapper;
+
+    private final Queue<RequestLogEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueSize = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+
+    @Value("${tasks.request-log.queue-capacity:10000}")
+    private int capacity;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    @PostConstruct
+    void start() {
+        running = true;
+        thread = new Thread(this::drainLoop, "request-log-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(thread);
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    /**
+     * Enqueue an event without blocking.
+     *
+     * @return false if the queue was full and the event was dropped
+     */
+    public boolean submit(RequestLogEvent event) {
+        // Reserve a slot first so the queue can never grow past its capacity
+        if (queueSize.incrementAndGet() > capacity) {
+            queueSize.decrementAndGet();
+            dropped.incrementAndGet();
+            return false;
+        }
+        queue.offer(event);
+        return true;
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public int getQueueSize() {
+        return queueSize.get();
+    }
+
+    private void drainLoop() {
+        long reportedDrops = 0;
+        long lastReport = System.nanoTime();
+        while (running || !queue.isEmpty()) {
+            RequestLogEvent event = queue.poll();
+            if (event == null) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            } else {
+                queueSize.decrementAndGet();
+                write(event);
+            }
+
+            long now = System.nanoTime();
+            if (now - lastReport > DROP_REPORT_INTERVAL_NANOS) {
+                long drops = dropped.get();
+                if (drops > reportedDrops) {
+                    log.warn("Dropped {} request log events (queue full)", drops - reportedDrops);
+                    reportedDrops = drops;
+                }
+                lastReport = now;
+            }
+        }
+    }
+
+    private void write(RequestLogEvent event) {
+        try {
+            log.info("{}", objectMapper.writeValueAsString(toFields(event)));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Failed to write request log event for {} {}: {}", event.getMethod(), event.getUri(), e.getMessage());
+        }
+    }
+
+    private Map<String, Object> toFields(RequestLogEvent event) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("timestamp", Instant.ofEpochMilli(event.getTimestamp()).toString());
+        fields.put("method", event.getMethod());
+        fields.put("uri", event.getUri());
+        if (event.getQuery() != null) {
+            fields.put("query", event.getQuery());
+        }
+        fields.put("remoteAddr", event.getRemoteAddr());
+        fields.put("status", event.getStatus());
+        fields.put("durationMicros", event.getDurationMicros());
+        if (event.getStatements() != null) {
+            fields.put("statements", event.getStatements());
+            fields.put("rows", event.getRows());
+        }
+        if (event.getRequestContentType() != null) {
+            fields.put("requestContentType", event.getRequestContentType());
+        }
+        putBody(fields, "requestBody", event.getRequestBody(), event.getRequestEncoding(),
+                event.isRequestBodyTruncated());
+        if (event.getResponseContentType() != null) {
+            fields.put("responseContentType", event.getResponseContentType());
+        }
+        putBody(fields, "responseBody", event.getResponseBody(), event.getResponseEncoding(),
+                event.isResponseBodyTruncated());
+        return fields;
+    }
+
+    private void putBody(Map<String, Object> fields, String name, byte[] body, String encoding, boolean truncated) {
+        if (body == null || body.length == 0) {
+            return;
+        }
+        Charset charset = encoding != null && Charset.isSupported(encoding) ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+        fields.put(name, new String(body, charset));
+        if (truncated) {
+            fields.put(name + "Truncated", true);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.tasks.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Reports statements, rows and connection wait time to the thread's {@link QueryCounter} scope.
+ * Connections handed out while no scope is open, e.g. to background jobs, are not wrapped
+ * and cost nothing extra.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    public StatementCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        return wrap(super.getConnection(), start);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        return wrap(super.getConnection(username, password), start);
+    }
+
+    private static Connection wrap(Connection connection, long start) {
+        QueryCounter.Scope scope = QueryCounter.current();
+        if (scope == null) {
+            return connection;
+        }
+        scope.connectionAcquired(System.nanoTime() - start);
+        return proxy(Connection.class, connection, (method, result) -> {
+            if (result instanceof Statement statement) {
+                return wrapStatement(statement);
+            }
+            return result;
+        });
+    }
+
+    private static Statement wrapStatement(Statement statement) {
+        Class<? extends Statement> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        return proxy(type, statement, (method, result) -> {
+            String name = method.getName();
+            QueryCounter.Scope scope = QueryCounter.current();
+            if (scope != null && name.startsWith("execute")) {
+                scope.statementExecuted();
+                if (result instanceof Integer count && count > 0) {
+                    scope.rowsProcessed(count);
+                } else if (result instanceof Long count && count > 0) {
+                    scope.rowsProcessed(count);
+                } else if (result instanceof int[] counts) {
+                    for (int count : counts) {
+                        scope.rowsProcessed(Math.max(count, 0));
+                    }
+                } else if (result instanceof long[] counts) {
+                    for (long count : counts) {
+                        scope.rowsProcessed(Math.max(count, 0));
+                    }
+                }
+            }
+            if (result instanceof ResultSet resultSet && ("executeQuery".equals(name) || "getResultSet".equals(name))) {
+                return wrapResultSet(resultSet);
+            }
+            return result;
+        });
+    }
+
+    private static ResultSet wrapResultSet(ResultSet resultSet) {
+        return proxy(ResultSet.class, resultSet, (method, result) -> {
+            if (Boolean.TRUE.equals(result) && "next".equals(method.getName())) {
+                QueryCounter.Scope scope = QueryCounter.current();
+                if (scope != null) {
+                    scope.rowsProcessed(1);
+                }
+            }
+            return result;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<? extends T> type, T target, ResultHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> {
+                    Object result;
+                    try {
+                        result = method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                    return handler.handle(method, result);
+                });
+    }
+
+    @FunctionalInterface
+    private interface ResultHandler {
+        Object handle(Method method, Object result) throws SQLException;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.tasks.controller;
+
+import com.example.tasks.dto.TaskPageStamp;
+import com.example.tasks.exception.InvalidRequestException;
+import com.example.tasks.exception.PreconditionFailedException;
+import com.example.tasks.model.Task;
+import com.example.tasks.model.User;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Strong entity tags for conditional requests. Users and tasks are tagged with their
+ * {@code @Version}; pages with a stamp that can be read without loading the rows.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String user(User user) {
+        return user(user.getUserId(), user.getVersion());
+    }
+
+    static String user(Integer userId, Long version) {
+        return userPrefix(userId) + version + "\"";
+    }
+
+    static String task(Task task) {
+        return taskPrefix(task.getTaskId()) + task.getVersion() + "\"";
+    }
+
+    /**
+     * Tag of one page of a user's tasks: the stamp plus everything that selects the page.
+     */
+    static String taskPage(Integer userId, TaskPageStamp stamp, Pageable pageable) {
+        return "\"p" + userId + "-" + stamp.getCount() + "-" + micros(stamp.getLastUpdatedAt())
+                + "-" + pageable.getPageNumber() + "-" + pageable.getPageSize()
+                + "-" + Integer.toHexString(pageable.getSort().toString().hashCode()) + "\"";
+    }
+
+    /**
+     * The user version a PUT is conditional on, or {@code null} without an {@code If-Match} or for {@code *}.
+     */
+    static Long ifMatchUserVersion(String ifMatch, Integer userId) {
+        return ifMatchVersion(ifMatch, userPrefix(userId));
+    }
+
+    /**
+     * The task version a PUT is conditional on, or {@code null} without an {@code If-Match} or for {@code *}.
+     */
+    static Long ifMatchTaskVersion(String ifMatch, Integer taskId) {
+        return ifMatchVersion(ifMatch, taskPrefix(taskId));
+    }
+
+    private static String userPrefix(Integer userId) {
+        return "\"u" + userId + "-v";
+    }
+
+    private static String taskPrefix(Integer taskId) {
+        return "\"t" + taskId + "-v";
+    }
+
+    /**
+     * Weak tags and tags of another resource can never match, so they fail the precondition.
+     */
+    private static Long ifMatchVersion(String ifMatch, String prefix) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.contains(",")) {
+            throw new InvalidRequestException("If-Match must contain a single ETag");
+        }
+        if (tag.startsWith(prefix) && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(prefix.length(), tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // fall through
+            }
+        }
+        throw new PreconditionFailedException("If-Match " + tag + " does not match the current ETag");
+    }
+
+    /**
+     * Microseconds, the precision the database keeps, so an entity updated in memory
+     * and a value read back from the database produce the same tag.
+     */
+    private static long micros(LocalDateTime time) {
+        if (time == null) {
+            return 0;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+    }
+}
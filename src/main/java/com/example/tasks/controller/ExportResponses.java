@@ -0,0 +1,107 @@
+package com.example.tasks.controller;
+
+import com.example.tasks.service.ExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes a streamed export to the servlet response: sets the headers, applies gzip when
+ * the client accepts it and treats a client disconnect as the end of the export.
+ */
+@Slf4j
+final class ExportResponses {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @FunctionalInterface
+    interface ExportWriter {
+        long write(OutputStream out) throws IOException;
+    }
+
+    private ExportResponses() {
+    }
+
+    static void stream(String name, ExportService.Format format, String acceptEncoding,
+                       HttpServletResponse response, ExportWriter writer) throws IOException {
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=" + name + "." + format.getExtension());
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        GzipStream gzipOut = gzip ? new GzipStream(response.getOutputStream()) : null;
+        OutputStream out = new BufferedOutputStream(gzip ? gzipOut : response.getOutputStream(), BUFFER_SIZE);
+        boolean closed = false;
+        try {
+            writer.write(out);
+            out.close();
+            closed = true;
+        } catch (IOException e) {
+            // Typically the client went away; the cursor was already closed by the service
+            log.info("Export of {} aborted: {}", name, e.getMessage());
+        } finally {
+            // Not closed on failure, which would flush a partial body; only free the native deflater
+            if (!closed && gzipOut != null) {
+                gzipOut.discard();
+            }
+        }
+    }
+
+    /**
+     * Whether {@code Accept-Encoding} allows gzip: listed as {@code gzip} (or {@code *}, unless
+     * gzip is listed itself) with a q-value above zero.
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean wildcard = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String token = parts[0].trim().toLowerCase(Locale.ROOT);
+            boolean accepted = quality(parts) > 0;
+            if (token.equals("gzip") || token.equals("x-gzip")) {
+                return accepted;
+            }
+            if (token.equals("*")) {
+                wildcard = accepted;
+            }
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    private static double quality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+            if (parameter.length() > 2 && parameter.substring(0, 2).equalsIgnoreCase("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    /** Gzip stream whose deflater can be released without finishing the stream. */
+    private static final class GzipStream extends GZIPOutputStream {
+        private GzipStream(OutputStream out) throws IOException {
+            super(out, BUFFER_SIZE);
+        }
+
+        void discard() {
+            def.end();
+        }
+    }
+}
@@ -1,18 +1,40 @@
 package com.example.tasks.controller;
 
+import com.example.tasks.dto.BulkCreateTasksRequest;
+import com.example.tasks.dto.BulkCreateTasksResponse;
 import com.example.tasks.dto.CreateTaskRequest;
+import com.example.tasks.dto.CursorPage;
+import com.example.tasks.dto.ImportReport;
+import com.example.tasks.dto.SliceResponse;
+import com.example.tasks.dto.StatusTransitionReport;
+import com.example.tasks.dto.StatusTransitionRequest;
+import com.example.tasks.dto.TaskPageStamp;
+import com.example.tasks.dto.TaskSearchHit;
+import com.example.tasks.dto.TaskSummary;
+import com.example.tasks.exception.InvalidRequestException;
 import com.example.tasks.model.Task;
+import com.example.tasks.model.TaskStatus;
+import com.example.tasks.service.ExportService;
+import com.example.tasks.service.ImportService;
+import com.example.tasks.service.TaskSearchService;
 import com.example.tasks.service.TaskService;
+import com.example.tasks.service.TaskTransitionService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import com.example.tasks.dto.UpdateTaskRequest;
 
@@ -22,6 +44,10 @@ import com.example.tasks.dto.UpdateTaskRequest;
 @RequiredArgsConstructor
 public class TaskController {
     private final TaskService taskService;
+    private final ExportService exportService;
+    private final ImportService importService;
+    private final TaskSearchService taskSearchService;
+    private final TaskTransitionService taskTransitionService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -31,22 +57,120 @@ public class TaskController {
                 .body(taskService.createTask(request));
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkCreateTasksResponse> createTasks(
+            @Valid @RequestBody BulkCreateTasksRequest request) {
+        BulkCreateTasksResponse response = taskService.createTasks(request.getTasks());
+        HttpStatus status = response.getCreated() > 0 ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST;
+        return ResponseEntity.status(status).body(response);
+    }
+
+    /**
+     * Import tasks from an NDJSON body (one task object per line), streamed and
+     * inserted in chunked, JDBC-batched transactions.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<ImportReport> importTasks(InputStream body) throws IOException {
+        return ResponseEntity.ok(importService.importTasks(body));
+    }
+
+    /**
+     * Move every task matching the filter to another status with chunked set-based updates.
+     */
+    @PostMapping("/status-transitions")
+    public ResponseEntity<StatusTransitionReport> transitionStatus(
+            @Valid @RequestBody StatusTransitionRequest request) {
+        return ResponseEntity.ok(taskTransitionService.transition(request));
+    }
+
+    /**
+     * Pages of one user's tasks carry an ETag built from the task count and latest change;
+     * a matching {@code If-None-Match} gets a 304 after that single aggregate query.
+     */
     @GetMapping
-    public Page<Task> getTasks(
+    public Page<TaskSummary> getTasks(
             @RequestParam(required = false) Integer userId,
-            Pageable pageable) {
+            Pageable pageable,
+            WebRequest webRequest) {
         if (userId != null) {
-            return taskService.getTasksByUserId(userId, pageable);
+            TaskPageStamp stamp = taskService.getTaskPageStamp(userId, pageable);
+            if (webRequest.checkNotModified(ETags.taskPage(userId, stamp, pageable))) {
+                return null;
+            }
+            return taskService.getTasksByUserId(userId, pageable, stamp);
         }
         return taskService.getAllTasks(pageable);
     }
 
+    /**
+     * Count-free pagination. Selected when the {@code total} parameter is present:
+     * {@code none} skips totals entirely, {@code approximate} adds a cached total.
+     * Omit the parameter to keep the exact {@link Page} response.
+     */
+    @GetMapping(params = {"total", "!after"})
+    public SliceResponse<TaskSummary> getTaskSlice(
+            @RequestParam(required = false) Integer userId,
+            @RequestParam String total,
+            Pageable pageable) {
+        boolean approximate = switch (total) {
+            case "none" -> false;
+            case "approximate" -> true;
+            default -> throw new InvalidRequestException("total must be 'none' or 'approximate'");
+        };
+        return taskService.getTaskSlice(userId, pageable, approximate);
+    }
+
+    /**
+     * Keyset (cursor) pagination. Selected when the {@code after} parameter is present;
+     * send it empty for the first page and then pass back {@code nextCursor}.
+     */
+    @GetMapping(params = "after")
+    public CursorPage<TaskSummary> getTasksAfter(
+            @RequestParam(required = false) Integer userId,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false, defaultValue = "taskId") String orderBy) {
+        return taskService.getTasksAfter(userId, after, limit, orderBy);
+    }
+
+    /**
+     * Full-text search over one user's task titles and descriptions, best matches first.
+     */
+    @GetMapping("/search")
+    public List<TaskSearchHit> searchTasks(
+            @RequestParam String q,
+            @RequestParam Integer userId,
+            @RequestParam(required = false) Integer limit) {
+        return taskSearchService.search(userId, q, limit);
+    }
+
+    /**
+     * Stream tasks as NDJSON or CSV without paging. Compressed with gzip when
+     * the client accepts it. A client disconnect simply ends the export.
+     */
+    @GetMapping("/export")
+    public void exportTasks(
+            @RequestParam(required = false) Integer userId,
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false, defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) throws IOException {
+        ExportService.Format exportFormat = ExportService.Format.fromParameter(format);
+        ExportResponses.stream("tasks", exportFormat, acceptEncoding, response,
+                out -> exportService.exportTasks(userId, status, exportFormat, out));
+    }
+
+    /**
+     * With {@code If-Match} the update only applies to that version of the task (412 otherwise).
+     * Without it, a status-only change is retried on a concurrent write; other lost races get 409.
+     */
     @PutMapping("/{id}")
     public ResponseEntity<Task> updateTask(
             @PathVariable Integer id,
-            @Valid @RequestBody UpdateTaskRequest request) {
-        Task updatedTask = taskService.updateTask(id, request);
-        return ResponseEntity.ok(updatedTask);
+            @Valid @RequestBody UpdateTaskRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Task updatedTask = taskService.updateTask(id, request, ETags.ifMatchTaskVersion(ifMatch, id));
+        return ResponseEntity.ok().eTag(ETags.task(updatedTask)).body(updatedTask);
     }
 
     @DeleteMapping("/{id}")
@@ -1,18 +1,35 @@
 package com.example.tasks.controller;
 
+import com.example.tasks.dto.CursorPage;
 import com.example.tasks.dto.ExternalUserDto;
+import com.example.tasks.dto.ImportReport;
+import com.example.tasks.dto.TaskStats;
+import com.example.tasks.dto.UserSummary;
+import com.example.tasks.dto.UserSyncReport;
 import com.example.tasks.model.User;
+import com.example.tasks.service.ExportService;
 import com.example.tasks.service.ExternalApiService;
+import com.example.tasks.service.ImportService;
+import com.example.tasks.service.TaskStatsService;
 import com.example.tasks.service.UserService;
+import com.example.tasks.service.UserSyncService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.Collections;
 import java.util.Map;
@@ -24,6 +41,10 @@ import java.util.Map;
 public class UserController {
     private final UserService userService;
     private final ExternalApiService externalApiService;
+    private final ImportService importService;
+    private final ExportService exportService;
+    private final TaskStatsService taskStatsService;
+    private final UserSyncService userSyncService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -32,29 +53,90 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);
     }
 
+    /**
+     * Import users from an NDJSON body (one user object per line), streamed and
+     * written in chunked transactions.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<ImportReport> importUsers(InputStream body) throws IOException {
+        return ResponseEntity.ok(importService.importUsers(body));
+    }
+
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers(
-            @RequestParam(required = false, defaultValue = "false") boolean includeInactive) {
-        List<User> users = userService.getAllUsers(includeInactive);
+    public ResponseEntity<Page<UserSummary>> getAllUsers(
+            @RequestParam(required = false, defaultValue = "false") boolean includeInactive,
+            Pageable pageable) {
+        Page<UserSummary> users = userService.getAllUsers(includeInactive, pageable);
         return ResponseEntity.ok(users);
     }
 
+    /**
+     * Keyset (cursor) pagination over users, selected when {@code after} is present.
+     */
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPage<UserSummary>> getUsersAfter(
+            @RequestParam(required = false, defaultValue = "false") boolean includeInactive,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(userService.getUsersAfter(includeInactive, after, limit));
+    }
+
+    /**
+     * Stream all users as NDJSON or CSV for bulk consumers.
+     */
+    @GetMapping("/export")
+    public void exportUsers(
+            @RequestParam(required = false, defaultValue = "false") boolean includeInactive,
+            @RequestParam(required = false, defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) throws IOException {
+        ExportService.Format exportFormat = ExportService.Format.fromParameter(format);
+        ExportResponses.stream("users", exportFormat, acceptEncoding, response,
+                out -> exportService.exportUsers(includeInactive, exportFormat, out));
+    }
+
+    /**
+     * Task counts by status for every user with tasks, ordered by user id.
+     */
+    @GetMapping("/task-stats")
+    public ResponseEntity<Page<TaskStats>> getAllTaskStats(Pageable pageable) {
+        return ResponseEntity.ok(taskStatsService.getStatsForAllUsers(pageable));
+    }
+
+    /**
+     * Task counts by status for one user, read from maintained counters.
+     */
+    @GetMapping("/{id}/task-stats")
+    public ResponseEntity<TaskStats> getTaskStats(@PathVariable Integer id) {
+        return ResponseEntity.ok(taskStatsService.getStatsForUser(id));
+    }
+
+    /**
+     * Tagged with an ETag from the user's version. A conditional request is first checked
+     * against the cached user or a single-column query, so a 304 never loads the row.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<User> getUserById(@PathVariable Integer id) {
+    public ResponseEntity<User> getUserById(@PathVariable Integer id, WebRequest webRequest) {
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<Long> version = userService.getUserVersion(id);
+            if (version.isPresent() && webRequest.checkNotModified(ETags.user(id, version.get()))) {
+                return null;
+            }
+        }
         User user = userService.getUserById(id);
-        return ResponseEntity.ok(user);
+        return ResponseEntity.ok().eTag(ETags.user(user)).body(user);
     }
 
     @GetMapping("/username/{username}")
     public ResponseEntity<User> getUserByUsername(@PathVariable String username) {
         User user = userService.getUserByUsername(username);
-        return ResponseEntity.ok(user);
+        return ResponseEntity.ok().eTag(ETags.user(user)).body(user);
     }
     
     @GetMapping("/email/{email}")
     public ResponseEntity<User> getUserByEmail(@PathVariable String email) {
         User user = userService.getUserByEmail(email);
-        return ResponseEntity.ok(user);
+        return ResponseEntity.ok().eTag(ETags.user(user)).body(user);
     }
     
     @GetMapping("/external")
@@ -62,11 +144,25 @@ public class UserController {
         return ResponseEntity.ok(externalApiService.getExternalUsers());
     }
     
+    /**
+     * Create, update and reactivate users from the external API in batched transactions.
+     */
+    @PostMapping("/external/sync")
+    public ResponseEntity<UserSyncReport> syncExternalUsers() {
+        return ResponseEntity.ok(userSyncService.syncExternalUsers());
+    }
+    
+    /**
+     * With {@code If-Match} the update only applies to that version of the user (412 otherwise);
+     * a write that loses a race with another one is rejected with 409.
+     */
     @PutMapping("/{id}")
     public ResponseEntity<User> updateUserById(
             @PathVariable Integer id, 
-            @Valid @RequestBody User user) {
-        return ResponseEntity.ok(userService.updateUserById(id, user));
+            @Valid @RequestBody User user,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        User updatedUser = userService.updateUserById(id, user, ETags.ifMatchUserVersion(ifMatch, id));
+        return ResponseEntity.ok().eTag(ETags.user(updatedUser)).body(updatedUser);
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,16 @@
+package com.example.tasks.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO for creating many tasks in one call.
+ * Items are validated individually so one bad item does not reject the whole request.
+ */
+@Data
+public class BulkCreateTasksRequest {
+    @NotEmpty(message = "At least one task is required")
+    private List<CreateTaskRequest> tasks;
+}
@@ -0,0 +1,14 @@
+package com.example.tasks.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BulkCreateTasksResponse {
+    private int created;
+    private int failed;
+    private List<BulkTaskResult> results;
+}
@@ -0,0 +1,31 @@
+package com.example.tasks.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Outcome of one item of a bulk task request, matched to the request by {@code index}.
+ */
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkTaskResult {
+    public enum Status {
+        CREATED,
+        FAILED
+    }
+
+    private int index;
+    private Status status;
+    private Integer taskId;
+    private String error;
+
+    public static BulkTaskResult created(int index, Integer taskId) {
+        return new BulkTaskResult(index, Status.CREATED, taskId, null);
+    }
+
+    public static BulkTaskResult failed(int index, String error) {
+        return new BulkTaskResult(index, Status.FAILED, null, error);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.tasks.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of a keyset (cursor) paginated listing.
+ * Pass {@code nextCursor} back as {@code after} to fetch the following page.
+ */
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+    private int limit;
+    private String nextCursor;
+    private boolean hasNext;
+}
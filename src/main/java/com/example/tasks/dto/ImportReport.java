@@ -0,0 +1,32 @@
+package com.example.tasks.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Progress and error report of a streaming import.
+ * Only the first errors are listed; {@code failed} always holds the full count.
+ */
+@Data
+@NoArgsConstructor
+public class ImportReport {
+    private long received;
+    private long created;
+    private long reactivated;
+    private long failed;
+    private int chunks;
+    private boolean aborted;
+    private long durationMs;
+    private List<ImportError> errors = new ArrayList<>();
+
+    @Data
+    @AllArgsConstructor
+    public static class ImportError {
+        private long line;
+        private String message;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.tasks.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Page of results produced without a {@code COUNT(*)} query.
+ * {@code approximateTotal} is only present when requested and comes from a cache.
+ */
+@Data
+@AllArgsConstructor
+public class SliceResponse<T> {
+    private List<T> content;
+    private int page;
+    private int size;
+    private boolean hasNext;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long approximateTotal;
+}
@@ -0,0 +1,21 @@
+package com.example.tasks.dto;
+
+import com.example.tasks.model.TaskStatus;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a bulk status transition. {@code failedChunks} were rolled back and
+ * their tasks keep the old status; running the same transition again picks them up.
+ */
+@Data
+@NoArgsConstructor
+public class StatusTransitionReport {
+    private TaskStatus fromStatus;
+    private TaskStatus toStatus;
+    private long updated;
+    private int chunks;
+    private int failedChunks;
+    private Integer lastTaskId;
+    private long durationMs;
+}
@@ -0,0 +1,28 @@
+package com.example.tasks.dto;
+
+import com.example.tasks.model.TaskStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Moves every task matching the filter from one status to another.
+ * {@code userId} and the {@code updatedAt} bounds are optional.
+ */
+@Data
+public class StatusTransitionRequest {
+    private Integer userId;
+
+    @NotNull(message = "fromStatus is required")
+    private TaskStatus fromStatus;
+
+    @NotNull(message = "toStatus is required")
+    private TaskStatus toStatus;
+
+    /** Only tasks last updated at or after this time. */
+    private LocalDateTime updatedFrom;
+
+    /** Only tasks last updated before this time. */
+    private LocalDateTime updatedBefore;
+}
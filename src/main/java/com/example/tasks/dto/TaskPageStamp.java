@@ -0,0 +1,17 @@
+package com.example.tasks.dto;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Number of tasks a user has and when the latest of them changed. Every create, update,
+ * move or delete changes one of the two, so with the page parameters they identify the
+ * content of any page of the user's tasks.
+ */
+@Value
+public class TaskPageStamp {
+    long count;
+    /** {@code null} when the user has no tasks. */
+    LocalDateTime lastUpdatedAt;
+}
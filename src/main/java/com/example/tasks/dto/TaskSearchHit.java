@@ -0,0 +1,12 @@
+package com.example.tasks.dto;
+
+import lombok.Value;
+
+/**
+ * A task matching a search query, with its relevance score (higher is better).
+ */
+@Value
+public class TaskSearchHit {
+    TaskSummary task;
+    double score;
+}
@@ -0,0 +1,16 @@
+package com.example.tasks.dto;
+
+import com.example.tasks.model.TaskStatus;
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * Number of tasks a user has in each status. Every status is present, zero if unused.
+ */
+@Value
+public class TaskStats {
+    Integer userId;
+    Map<TaskStatus, Long> counts;
+    long total;
+}
@@ -0,0 +1,22 @@
+package com.example.tasks.dto;
+
+import com.example.tasks.model.TaskStatus;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of a task, selected directly by listing queries.
+ * Unlike {@link com.example.tasks.model.Task} it is never a managed entity,
+ * so listings skip hydration, dirty-check snapshots and lazy proxies.
+ */
+@Value
+public class TaskSummary {
+    Integer taskId;
+    String title;
+    String description;
+    TaskStatus status;
+    Integer userId;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+}
@@ -0,0 +1,19 @@
+package com.example.tasks.dto;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of a user, selected directly by listing queries.
+ */
+@Value
+public class UserSummary {
+    Integer userId;
+    String username;
+    String fullName;
+    String email;
+    String isActive;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+}
@@ -0,0 +1,34 @@
+package com.example.tasks.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of synchronizing external users into the users table.
+ * Only the first errors are listed; {@code failed} always holds the full count.
+ */
+@Data
+@NoArgsConstructor
+public class UserSyncReport {
+    private long received;
+    private long created;
+    private long updated;
+    private long reactivated;
+    private long unchanged;
+    private long failed;
+    private int chunks;
+    private long durationMs;
+    private List<SyncError> errors = new ArrayList<>();
+
+    @Data
+    @AllArgsConstructor
+    public static class SyncError {
+        private Integer externalId;
+        private String username;
+        private String message;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.tasks.exception;
+
+/**
+ * Exception thrown when an upstream service cannot be called (circuit open,
+ * too many concurrent calls, timeout or error) and no cached response can be served.
+ */
+public class ExternalServiceUnavailableException extends RuntimeException {
+    public ExternalServiceUnavailableException(String message) {
+        super(message);
+    }
+
+    public ExternalServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
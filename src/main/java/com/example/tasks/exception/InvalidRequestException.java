@@ -0,0 +1,11 @@
+package com.example.tasks.exception;
+
+/**
+ * Exception thrown when request parameters are well-formed but not acceptable,
+ * e.g. an unsupported sort key or a malformed pagination cursor.
+ */
+public class InvalidRequestException extends RuntimeException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.tasks.exception;
+
+/**
+ * Exception thrown when an {@code If-Match} precondition does not hold: the resource
+ * has been changed since the client read the version it sent.
+ */
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+
+    public PreconditionFailedException(String resource, Object id, long expectedVersion, long currentVersion) {
+        super(String.format("%s %s has version %d, not %d", resource, id, currentVersion, expectedVersion));
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.tasks.exception;
+
+/**
+ * Exception thrown when a bounded work queue is full and the request is rejected
+ * instead of being buffered; the client may retry later.
+ */
+public class ServiceBusyException extends RuntimeException {
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
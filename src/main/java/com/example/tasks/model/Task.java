@@ -1,11 +1,13 @@
 package com.example.tasks.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
@@ -16,8 +18,13 @@ import java.time.LocalDateTime;
 @Table(name = "tasks", schema = "Tasks")
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class Task {
+    /**
+     * Pooled sequence ids let Hibernate batch inserts; allocationSize must match
+     * the sequence's INCREMENT BY.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", schema = "Tasks", allocationSize = 50)
     @Column(name = "task_id")
     private Integer taskId;
     
@@ -27,7 +34,7 @@ public class Task {
     private String title;
     
     @Size(max = 2000, message = "Description must be less than 2000 characters")
-    @Column(columnDefinition = "TEXT", length = 2000)
+    @Column(length = 2000)
     private String description;
     
     @NotNull(message = "Status is required")
@@ -48,6 +55,13 @@ public class Task {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
     
+    /** Optimistic lock version, sent to clients as the task's ETag. */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         LocalDateTime now = LocalDateTime.now();
@@ -0,0 +1,41 @@
+package com.example.tasks.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A task moved out of the hot {@code tasks} table by the retention purger.
+ * Keeps the original id and owner id; there is no foreign key, so the owner may be purged later.
+ */
+@Entity
+@Table(name = "tasks_archive", schema = "Tasks")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class TaskArchive {
+    @Id
+    @Column(name = "task_id")
+    private Integer taskId;
+
+    @Column(nullable = false, length = 200)
+    private String title;
+
+    @Column(length = 2000)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private TaskStatus status;
+
+    @Column(name = "user_id", nullable = false)
+    private Integer userId;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,19 @@
+package com.example.tasks.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Number of tasks a user has in one status. Maintained in the same transaction
+ * as every task write, so reading a user's counts never touches the tasks table.
+ */
+@Entity
+@Table(name = "task_status_counts", schema = "Tasks")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class TaskStatusCount {
+    @EmbeddedId
+    private TaskStatusCountId id;
+
+    @Column(name = "task_count", nullable = false)
+    private long taskCount;
+}
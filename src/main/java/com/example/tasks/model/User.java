@@ -3,6 +3,7 @@ package com.example.tasks.model;
 import com.example.tasks.validation.ValidEmail;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -12,6 +13,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
@@ -27,18 +29,24 @@ import java.util.List;
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Table(name = "users", schema = "Tasks",
        uniqueConstraints = {
-           @UniqueConstraint(columnNames = "username"),
-           @UniqueConstraint(columnNames = "email")
+           @UniqueConstraint(name = User.USERNAME_CONSTRAINT, columnNames = "username"),
+           @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email")
        })
 public class User {
+    /** Constraint names, used to tell which column a duplicate-key error is about. */
+    public static final String USERNAME_CONSTRAINT = "UK_users_username";
+    public static final String EMAIL_CONSTRAINT = "UK_users_email";
+
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+    @SequenceGenerator(name = "user_seq", sequenceName = "user_seq", schema = "Tasks", allocationSize = 50)
     @Column(name = "user_id")
     private Integer userId;
     
     @NotBlank(message = "Username is required")
     @Pattern(regexp = "^[a-zA-Z0-9._-]+$", message = "Username can only contain letters, numbers, dot, dash, and underscore")
-    @Column(name = "username", nullable = false, unique = true)
+    @Column(name = "username", nullable = false)
     @Size(min = 5, max = 50, message = "Username must be between 5 and 50 characters")
     private String username;
 
@@ -48,7 +56,7 @@ public class User {
     private String fullName;
     
     @NotBlank @Email @ValidEmail
-    @Column(nullable = false, unique = true, length = 100)
+    @Column(nullable = false, length = 100)
     @Size(min = 5, max = 100, message = "Email must be between 5 and 100 characters long")
     private String email;
 
@@ -62,6 +70,13 @@ public class User {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
     
+    /** Optimistic lock version, sent to clients as the user's ETag. */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonIgnore
     @Builder.Default
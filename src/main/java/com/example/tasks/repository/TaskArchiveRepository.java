@@ -0,0 +1,27 @@
+package com.example.tasks.repository;
+
+import com.example.tasks.model.TaskArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface TaskArchiveRepository extends JpaRepository<TaskArchive, Integer> {
+
+    /**
+     * Copy the given tasks into the archive with one {@code INSERT ... SELECT}; nothing is loaded.
+     * Native because JPQL has no insert into an explicitly identified entity; identifiers are quoted
+     * like the ones Hibernate generates under {@code globally_quoted_identifiers}.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO \"Tasks\".\"tasks_archive\" "
+            + "(\"task_id\", \"title\", \"description\", \"status\", \"user_id\", \"created_at\", "
+            + "\"updated_at\", \"archived_at\") "
+            + "SELECT \"task_id\", \"title\", \"description\", \"status\", \"user_id\", \"created_at\", "
+            + "\"updated_at\", CURRENT_TIMESTAMP FROM \"Tasks\".\"tasks\" WHERE \"task_id\" IN (:taskIds)")
+    int copyFromTasks(@Param("taskIds") Collection<Integer> taskIds);
+}
@@ -1,16 +1,38 @@
 package com.example.tasks.repository;
 
+import com.example.tasks.dto.TaskPageStamp;
+import com.example.tasks.dto.TaskSummary;
 import com.example.tasks.model.Task;
+import com.example.tasks.model.TaskStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 /**
  * Repository for Task entities.
  */
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Integer> {
+
+    /**
+     * Constructor expression selecting a {@link TaskSummary}; reads the user id
+     * from the foreign key without joining users.
+     */
+    String SUMMARY = "new com.example.tasks.dto.TaskSummary(t.taskId, t.title, t.description, "
+            + "t.status, t.user.userId, t.createdAt, t.updatedAt)";
     
     /**
      * Find all tasks for a specific user with pagination.
@@ -20,4 +42,181 @@ public interface TaskRepository extends JpaRepository<Task, Integer> {
      * @return Page of tasks
      */
     Page<Task> findByUserUserId(Integer userId, Pageable pageable);
+
+    long countByUserUserId(Integer userId);
+
+    /**
+     * Page of task summaries for a user.
+     */
+    @Query(value = "select " + SUMMARY + " from Task t where t.user.userId = :userId",
+           countQuery = "select count(t) from Task t where t.user.userId = :userId")
+    Page<TaskSummary> findSummariesByUserId(@Param("userId") Integer userId, Pageable pageable);
+
+    /**
+     * Content of one page of a user's task summaries; the total comes from {@link #findPageStampByUserId}.
+     */
+    @Query("select " + SUMMARY + " from Task t where t.user.userId = :userId")
+    List<TaskSummary> findSummaryListByUserId(@Param("userId") Integer userId, Pageable pageable);
+
+    /**
+     * Count and latest {@code updatedAt} of a user's tasks in one aggregate query,
+     * used as the ETag source and total of task pages.
+     */
+    @Query("select new com.example.tasks.dto.TaskPageStamp(count(t), max(t.updatedAt)) "
+            + "from Task t where t.user.userId = :userId")
+    TaskPageStamp findPageStampByUserId(@Param("userId") Integer userId);
+
+    /**
+     * Page of all task summaries.
+     */
+    @Query(value = "select " + SUMMARY + " from Task t",
+           countQuery = "select count(t) from Task t")
+    Page<TaskSummary> findAllSummaries(Pageable pageable);
+
+    /**
+     * Same as {@link #findSummariesByUserId} but without the {@code COUNT(*)} query.
+     */
+    @Query("select " + SUMMARY + " from Task t where t.user.userId = :userId")
+    Slice<TaskSummary> findSummarySliceByUserId(@Param("userId") Integer userId, Pageable pageable);
+
+    /**
+     * All task summaries as a slice, without the {@code COUNT(*)} query.
+     */
+    @Query("select " + SUMMARY + " from Task t")
+    Slice<TaskSummary> findAllSummariesAsSlice(Pageable pageable);
+
+    /**
+     * Seek the next tasks of a user in {@code (user_id, task_id)} order.
+     *
+     * @param userId   The ID of the user
+     * @param afterId  Last task ID already returned (0 for the first page)
+     * @param pageable Limit only; must be unsorted
+     * @return Tasks following {@code afterId}
+     */
+    @Query("select " + SUMMARY + " from Task t where t.user.userId = :userId and t.taskId > :afterId "
+            + "order by t.taskId asc")
+    List<TaskSummary> findByUserIdAfter(@Param("userId") Integer userId,
+                                        @Param("afterId") Integer afterId,
+                                        Pageable pageable);
+
+    /**
+     * Seek the next tasks in {@code task_id} order.
+     */
+    @Query("select " + SUMMARY + " from Task t where t.taskId > :afterId order by t.taskId asc")
+    List<TaskSummary> findAfter(@Param("afterId") Integer afterId, Pageable pageable);
+
+    /**
+     * First page in {@code (updated_at, task_id)} order.
+     */
+    @Query("select " + SUMMARY + " from Task t order by t.updatedAt asc, t.taskId asc")
+    List<TaskSummary> findFirstByUpdatedAt(Pageable pageable);
+
+    /**
+     * Seek the next tasks in {@code (updated_at, task_id)} order.
+     */
+    @Query("select " + SUMMARY + " from Task t where t.updatedAt > :updatedAt "
+            + "or (t.updatedAt = :updatedAt and t.taskId > :afterId) "
+            + "order by t.updatedAt asc, t.taskId asc")
+    List<TaskSummary> findAfterUpdatedAt(@Param("updatedAt") LocalDateTime updatedAt,
+                                         @Param("afterId") Integer afterId,
+                                         Pageable pageable);
+
+    /**
+     * Summaries for the given ids, in no particular order.
+     */
+    @Query("select " + SUMMARY + " from Task t where t.taskId in :taskIds")
+    List<TaskSummary> findSummariesByTaskIdIn(@Param("taskIds") Collection<Integer> taskIds);
+
+    /**
+     * Stream every task summary; used to rebuild the search index. Must be consumed
+     * inside a transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select " + SUMMARY + " from Task t")
+    Stream<TaskSummary> streamAllSummaries();
+
+    /**
+     * Stream {@code [taskId, updatedAt]} pairs; used to reconcile a search index snapshot.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"))
+    @Query("select t.taskId, t.updatedAt from Task t")
+    Stream<Object[]> streamIndexStamps();
+
+    /**
+     * {@code [userId, status, count]} rows for the given users; used to reconcile status counters.
+     */
+    @Query("select t.user.userId, t.status, count(t) from Task t where t.user.userId in :userIds "
+            + "group by t.user.userId, t.status")
+    List<Object[]> countByUserIdInGroupByStatus(@Param("userIds") Collection<Integer> userIds);
+
+    /**
+     * Seek the next ids of tasks in a status, last updated in {@code [from, before)}, in
+     * {@code task_id} order; the chunks of a bulk status transition.
+     */
+    @Query("select t.taskId from Task t where t.status = :status and t.updatedAt >= :from "
+            + "and t.updatedAt < :before and t.taskId > :afterId order by t.taskId asc")
+    List<Integer> findIdsByStatusAfter(@Param("status") TaskStatus status,
+                                       @Param("from") LocalDateTime from,
+                                       @Param("before") LocalDateTime before,
+                                       @Param("afterId") Integer afterId,
+                                       Pageable pageable);
+
+    /**
+     * Same as {@link #findIdsByStatusAfter} for one user's tasks.
+     */
+    @Query("select t.taskId from Task t where t.user.userId = :userId and t.status = :status "
+            + "and t.updatedAt >= :from and t.updatedAt < :before and t.taskId > :afterId order by t.taskId asc")
+    List<Integer> findIdsByUserIdAndStatusAfter(@Param("userId") Integer userId,
+                                                @Param("status") TaskStatus status,
+                                                @Param("from") LocalDateTime from,
+                                                @Param("before") LocalDateTime before,
+                                                @Param("afterId") Integer afterId,
+                                                Pageable pageable);
+
+    /**
+     * Move the given tasks that are still in {@code from} to {@code to} in one statement,
+     * maintaining {@code updatedAt} and the optimistic lock version. Bypasses the persistence context.
+     */
+    @Modifying
+    @Query("update Task t set t.status = :to, t.updatedAt = :updatedAt, t.version = t.version + 1 "
+            + "where t.taskId in :taskIds and t.status = :from")
+    int updateStatus(@Param("taskIds") Collection<Integer> taskIds,
+                     @Param("from") TaskStatus from,
+                     @Param("to") TaskStatus to,
+                     @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * {@code [userId, count]} of the given tasks now in {@code status} with exactly this
+     * {@code updatedAt}, i.e. the rows a preceding {@link #updateStatus} changed.
+     */
+    @Query("select t.user.userId, count(t) from Task t where t.taskId in :taskIds and t.status = :status "
+            + "and t.updatedAt = :updatedAt group by t.user.userId")
+    List<Object[]> countUpdatedByUserId(@Param("taskIds") Collection<Integer> taskIds,
+                                        @Param("status") TaskStatus status,
+                                        @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Seek the next task ids of a user in {@code (user_id, task_id)} order.
+     */
+    @Query("select t.taskId from Task t where t.user.userId = :userId and t.taskId > :afterId "
+            + "order by t.taskId asc")
+    List<Integer> findIdsByUserIdAfter(@Param("userId") Integer userId,
+                                       @Param("afterId") Integer afterId,
+                                       Pageable pageable);
+
+    /**
+     * {@code [status, count]} rows for the given tasks.
+     */
+    @Query("select t.status, count(t) from Task t where t.taskId in :taskIds group by t.status")
+    List<Object[]> countByTaskIdInGroupByStatus(@Param("taskIds") Collection<Integer> taskIds);
+
+    /**
+     * Delete the given tasks in one statement, bypassing the persistence context.
+     */
+    @Modifying
+    @Query("delete from Task t where t.taskId in :taskIds")
+    int deleteByTaskIdIn(@Param("taskIds") Collection<Integer> taskIds);
 }
@@ -0,0 +1,51 @@
+package com.example.tasks.repository;
+
+import com.example.tasks.model.TaskStatus;
+import com.example.tasks.model.TaskStatusCount;
+import com.example.tasks.model.TaskStatusCountId;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskStatusCountRepository extends JpaRepository<TaskStatusCount, TaskStatusCountId> {
+    List<TaskStatusCount> findByIdUserId(Integer userId);
+
+    @Query("select c from TaskStatusCount c where c.id.userId in :userIds")
+    List<TaskStatusCount> findByUserIdIn(@Param("userIds") Collection<Integer> userIds);
+
+    /**
+     * Lock the counters of the given users, in key order so concurrent lockers cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from TaskStatusCount c where c.id.userId in :userIds order by c.id.userId, c.id.status")
+    List<TaskStatusCount> lockByUserIdIn(@Param("userIds") Collection<Integer> userIds);
+
+    /**
+     * Ids of users that have counters, in ascending order.
+     */
+    @Query(value = "select distinct c.id.userId from TaskStatusCount c order by c.id.userId",
+           countQuery = "select count(distinct c.id.userId) from TaskStatusCount c")
+    Page<Integer> findUserIds(Pageable pageable);
+
+    /**
+     * Add {@code delta} to one counter in place.
+     *
+     * @return Number of rows updated; 0 if the counter row does not exist yet
+     */
+    @Modifying
+    @Query("update TaskStatusCount c set c.taskCount = c.taskCount + :delta "
+            + "where c.id.userId = :userId and c.id.status = :status")
+    int increment(@Param("userId") Integer userId,
+                  @Param("status") TaskStatus status,
+                  @Param("delta") long delta);
+}
@@ -1,22 +1,89 @@
 package com.example.tasks.repository;
 
+import com.example.tasks.dto.UserSummary;
 import com.example.tasks.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Integer> {
+    /**
+     * Constructor expression selecting a {@link UserSummary}.
+     */
+    String SUMMARY = "new com.example.tasks.dto.UserSummary(u.userId, u.username, u.fullName, "
+            + "u.email, u.isActive, u.createdAt, u.updatedAt)";
+
     Optional<User> findByUsername(String username);
+
+    /**
+     * Users holding the username or the email, active or not; at most two rows.
+     */
+    List<User> findByUsernameOrEmail(String username, String email);
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
     List<User> findByIsActive(String isActive);
     Optional<User> findByUserIdAndIsActive(Integer userId, String isActive);
+    List<User> findByUserIdInAndIsActive(Collection<Integer> userIds, String isActive);
+    List<User> findByUsernameInOrEmailIn(Collection<String> usernames, Collection<String> emails);
     Optional<User> findByUsernameAndIsActive(String username, String isActive);
     Optional<User> findByEmailAndIsActive(String email, String isActive);
     boolean existsByUsernameAndIsActive(String username, String isActive);
     boolean existsByEmailAndIsActive(String email, String isActive);
+
+    /**
+     * Version of an active user, for answering conditional GETs without loading the row.
+     */
+    @Query("select u.version from User u where u.userId = :userId and u.isActive = 'Y'")
+    Optional<Long> findActiveVersion(@Param("userId") Integer userId);
+
+    @Query(value = "select " + SUMMARY + " from User u",
+           countQuery = "select count(u) from User u")
+    Page<UserSummary> findAllSummaries(Pageable pageable);
+
+    /**
+     * Page of active users. The literal {@code 'Y'} (not a parameter) lets SQL Server use
+     * the filtered index {@code IX_users_active}.
+     */
+    @Query(value = "select " + SUMMARY + " from User u where u.isActive = 'Y'",
+           countQuery = "select count(u) from User u where u.isActive = 'Y'")
+    Page<UserSummary> findActiveSummaries(Pageable pageable);
+
+    /**
+     * Seek the next users in {@code user_id} order.
+     */
+    @Query("select " + SUMMARY + " from User u where u.userId > :afterId order by u.userId asc")
+    List<UserSummary> findSummariesAfter(@Param("afterId") Integer afterId, Pageable pageable);
+
+    /**
+     * Seek the next active users in {@code user_id} order, on the filtered index.
+     */
+    @Query("select " + SUMMARY + " from User u where u.isActive = 'Y' and u.userId > :afterId "
+            + "order by u.userId asc")
+    List<UserSummary> findActiveSummariesAfter(@Param("afterId") Integer afterId, Pageable pageable);
+
+    /**
+     * Seek the next user ids, active or not, in ascending order.
+     */
+    @Query("select u.userId from User u where u.userId > :afterId order by u.userId asc")
+    List<Integer> findUserIdsAfter(@Param("afterId") Integer afterId, Pageable pageable);
+
+    /**
+     * Seek the next users deactivated before {@code cutoff} (their last update), in
+     * {@code user_id} order, on the filtered index {@code IX_users_inactive}.
+     */
+    @Query("select u.userId from User u where u.isActive = 'N' and u.updatedAt < :cutoff "
+            + "and u.userId > :afterId order by u.userId asc")
+    List<Integer> findInactiveUserIdsAfter(@Param("cutoff") LocalDateTime cutoff,
+                                           @Param("afterId") Integer afterId,
+                                           Pageable pageable);
 }
@@ -0,0 +1,192 @@
+package com.example.tasks.service;
+
+import com.example.tasks.dto.TaskSummary;
+import com.example.tasks.dto.UserSummary;
+import com.example.tasks.exception.InvalidRequestException;
+import com.example.tasks.model.TaskStatus;
+import com.example.tasks.repository.TaskRepository;
+import com.example.tasks.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Streams tasks and users straight from a forward-only JDBC cursor to an output stream.
+ * Rows are selected as {@link TaskSummary}/{@link UserSummary} projections, so nothing
+ * accumulates in the persistence context and heap usage stays flat regardless of the number of rows.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format fromParameter(String value) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new InvalidRequestException("format must be 'ndjson' or 'csv'");
+        }
+    }
+
+    private static final String TASK_CSV_HEADER = "taskId,title,description,status,userId,createdAt,updatedAt\n";
+    private static final String USER_CSV_HEADER = "userId,username,fullName,email,isActive,createdAt,updatedAt\n";
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${tasks.export.fetch-size:1000}")
+    private int fetchSize;
+
+    /**
+     * Write all matching tasks, ordered by task ID, to {@code out}.
+     * The caller owns {@code out} and is responsible for buffering and closing it.
+     *
+     * @param userId Optional owner filter
+     * @param status Optional status filter
+     * @param format Output format
+     * @param out    Destination stream
+     * @return Number of rows written
+     * @throws IOException if writing fails, e.g. because the client disconnected
+     */
+    @Transactional(readOnly = true)
+    public long exportTasks(Integer userId, TaskStatus status, Format format, OutputStream out) throws IOException {
+        log.info("Exporting tasks as {} (userId: {}, status: {})", format, userId, status);
+
+        StringBuilder jpql = new StringBuilder("select " + TaskRepository.SUMMARY + " from Task t where 1 = 1");
+        if (userId != null) {
+            jpql.append(" and t.user.userId = :userId");
+        }
+        if (status != null) {
+            jpql.append(" and t.status = :status");
+        }
+        jpql.append(" order by t.taskId");
+
+        TypedQuery<TaskSummary> query = cursorQuery(jpql.toString(), TaskSummary.class);
+        if (userId != null) {
+            query.setParameter("userId", userId);
+        }
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        return write(query, format, TASK_CSV_HEADER, this::taskCsvLine, out);
+    }
+
+    /**
+     * Write all users, ordered by user ID, to {@code out}.
+     *
+     * @param includeInactive Whether soft-deleted users are included
+     * @param format          Output format
+     * @param out             Destination stream
+     * @return Number of rows written
+     * @throws IOException if writing fails, e.g. because the client disconnected
+     */
+    @Transactional(readOnly = true)
+    public long exportUsers(boolean includeInactive, Format format, OutputStream out) throws IOException {
+        log.info("Exporting users as {} (includeInactive: {})", format, includeInactive);
+
+        String jpql = "select " + UserRepository.SUMMARY + " from User u"
+                + (includeInactive ? "" : " where u.isActive = 'Y'")
+                + " order by u.userId";
+        return write(cursorQuery(jpql, UserSummary.class), format, USER_CSV_HEADER, this::userCsvLine, out);
+    }
+
+    private <T> TypedQuery<T> cursorQuery(String jpql, Class<T> type) {
+        return entityManager.createQuery(jpql, type)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+    }
+
+    private <T> long write(TypedQuery<T> query, Format format, String csvHeader,
+                           Function<T, String> csvLine, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        ObjectWriter writer = objectMapper.writer();
+        if (format == Format.CSV) {
+            out.write(csvHeader.getBytes(StandardCharsets.UTF_8));
+        }
+
+        long rows = 0;
+        // getResultStream() scrolls a forward-only cursor; closing the stream closes it
+        try (Stream<T> stream = query.getResultStream()) {
+            Iterator<T> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                T row = iterator.next();
+                if (format == Format.NDJSON) {
+                    out.write(writer.writeValueAsBytes(row));
+                    out.write('\n');
+                } else {
+                    out.write(csvLine.apply(row).getBytes(StandardCharsets.UTF_8));
+                }
+                rows++;
+            }
+        }
+
+        log.info("Exported {} rows in {} ms", rows, (System.nanoTime() - start) / 1_000_000);
+        return rows;
+    }
+
+    private String taskCsvLine(TaskSummary task) {
+        return task.getTaskId() + ","
+                + csv(task.getTitle()) + ","
+                + csv(task.getDescription()) + ","
+                + task.getStatus() + ","
+                + task.getUserId() + ","
+                + task.getCreatedAt() + ","
+                + task.getUpdatedAt() + "\n";
+    }
+
+    private String userCsvLine(UserSummary user) {
+        return user.getUserId() + ","
+                + csv(user.getUsername()) + ","
+                + csv(user.getFullName()) + ","
+                + csv(user.getEmail()) + ","
+                + user.getIsActive() + ","
+                + user.getCreatedAt() + ","
+                + user.getUpdatedAt() + "\n";
+    }
+
+    private String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
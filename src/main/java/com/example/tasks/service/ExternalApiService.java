@@ -1,31 +1,235 @@
 package com.example.tasks.service;
 
 import com.example.tasks.dto.ExternalUserDto;
+import com.example.tasks.exception.ExternalServiceUnavailableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Client for the external users API.
+ * <p>
+ * Responses are cached: fresh for {@code ttl-seconds}, then served stale for up to
+ * {@code stale-while-revalidate-seconds} while one background call revalidates them
+ * with {@code If-None-Match}. Upstream calls are capped by a bulkhead and guarded by a
+ * circuit breaker; when a call cannot be made or fails, the last cached response is
+ * served whatever its age, and only with nothing cached does the caller get a 503.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ExternalApiService {
+    private static final String USERS_PATH = "/users";
+    private static final ParameterizedTypeReference<List<ExternalUserDto>> USER_LIST =
+            new ParameterizedTypeReference<>() {};
 
     private final RestTemplate restTemplate;
+    private final MeterRegistry meterRegistry;
 
     @Value("${external.api.url:https://jsonplaceholder.typicode.com}")
     private String externalApiUrl;
 
+    @Value("${external.api.bulkhead.max-concurrent:10}")
+    private int maxConcurrentCalls;
+
+    @Value("${external.api.bulkhead.max-wait-ms:500}")
+    private long bulkheadWaitMs;
+
+    @Value("${external.api.cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${external.api.cache.stale-while-revalidate-seconds:600}")
+    private long staleWhileRevalidateSeconds;
+
+    @Value("${external.api.circuit.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${external.api.circuit.open-seconds:30}")
+    private long openSeconds;
+
+    private final Map<String, CachedResponse<?>> cache = new ConcurrentHashMap<>();
+    private final Map<String, ReentrantLock> loadLocks = new ConcurrentHashMap<>();
+    private Semaphore bulkhead;
+    private CircuitBreaker circuitBreaker;
+    private ExecutorService refresher;
+
+    @PostConstruct
+    void init() {
+        bulkhead = new Semaphore(maxConcurrentCalls);
+        circuitBreaker = new CircuitBreaker("external-api", failureThreshold, openSeconds * 1000);
+        refresher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "external-api-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("external.api.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("0 = closed, 1 = open, 2 = half-open")
+                .register(meterRegistry);
+        Gauge.builder("external.api.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdownNow();
+    }
+
     public List<ExternalUserDto> getExternalUsers() {
-        String url = externalApiUrl + "/users";
-        return restTemplate.exchange(
-                url,
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<List<ExternalUserDto>>() {}
-        ).getBody();
+        return get(USERS_PATH, USER_LIST);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(String path, ParameterizedTypeReference<T> type) {
+        CachedResponse<T> cached = (CachedResponse<T>) cache.get(path);
+        if (cached != null) {
+            long ageMs = cached.ageMillis();
+            if (ageMs < ttlSeconds * 1000) {
+                countLookup("hit");
+                return cached.body;
+            }
+            if (ageMs < (ttlSeconds + staleWhileRevalidateSeconds) * 1000) {
+                countLookup("stale");
+                refreshInBackground(path, type, cached);
+                return cached.body;
+            }
+        }
+
+        // Nothing usable cached: load once, other callers for the same path wait for it
+        countLookup("miss");
+        ReentrantLock lock = loadLocks.computeIfAbsent(path, key -> new ReentrantLock());
+        lock.lock();
+        try {
+            CachedResponse<T> current = (CachedResponse<T>) cache.get(path);
+            if (current != null && current != cached && current.ageMillis() < ttlSeconds * 1000) {
+                return current.body;
+            }
+            try {
+                return fetch(path, type, current).body;
+            } catch (ExternalServiceUnavailableException e) {
+                if (current == null) {
+                    throw e;
+                }
+                log.warn("Serving {} cached {} ms ago: {}", path, current.ageMillis(), e.getMessage());
+                countLookup("stale_on_error");
+                return current.body;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private <T> void refreshInBackground(String path, ParameterizedTypeReference<T> type, CachedResponse<T> cached) {
+        if (!cached.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        refresher.execute(() -> {
+            try {
+                fetch(path, type, cached);
+            } catch (ExternalServiceUnavailableException e) {
+                log.warn("Background refresh of {} failed: {}", path, e.getMessage());
+            } finally {
+                cached.refreshing.set(false);
+            }
+        });
+    }
+
+    /**
+     * Call upstream through the bulkhead and circuit breaker, revalidating {@code cached}
+     * if it has an ETag, and store the result.
+     */
+    private <T> CachedResponse<T> fetch(String path, ParameterizedTypeReference<T> type, CachedResponse<T> cached) {
+        acquireBulkhead();
+        try {
+            if (!circuitBreaker.tryAcquire()) {
+                throw new ExternalServiceUnavailableException("External API circuit is open");
+            }
+            HttpHeaders headers = new HttpHeaders();
+            if (cached != null && cached.etag != null) {
+                headers.setIfNoneMatch(cached.etag);
+            }
+            ResponseEntity<T> response;
+            try {
+                response = restTemplate.exchange(externalApiUrl + path, HttpMethod.GET, new HttpEntity<>(headers), type);
+                circuitBreaker.onSuccess();
+            } catch (HttpClientErrorException e) {
+                // Upstream answered, so it is healthy; the request itself was rejected
+                circuitBreaker.onSuccess();
+                throw new ExternalServiceUnavailableException("External API rejected the request: " + e.getStatusCode(), e);
+            } catch (RestClientException e) {
+                circuitBreaker.onFailure();
+                throw new ExternalServiceUnavailableException("External API call failed: " + e.getMessage(), e);
+            } catch (RuntimeException | Error e) {
+                // Every acquired call must be reported, or a half-open trial never ends and the circuit stays shut
+                circuitBreaker.onFailure();
+                throw e;
+            }
+
+            CachedResponse<T> fresh;
+            if (response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value() && cached != null) {
+                countLookup("revalidated");
+                fresh = new CachedResponse<>(cached.body, cached.etag);
+            } else {
+                fresh = new CachedResponse<>(response.getBody(), response.getHeaders().getETag());
+            }
+            cache.put(path, fresh);
+            return fresh;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private void acquireBulkhead() {
+        try {
+            if (!bulkhead.tryAcquire(bulkheadWaitMs, TimeUnit.MILLISECONDS)) {
+                throw new ExternalServiceUnavailableException("Too many concurrent external API calls");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExternalServiceUnavailableException("Interrupted waiting for an external API call slot", e);
+        }
+    }
+
+    private void countLookup(String result) {
+        meterRegistry.counter("external.api.cache.lookups", "result", result).increment();
+    }
+
+    private static final class CachedResponse<T> {
+        private final T body;
+        private final String etag;
+        private final long fetchedAt = System.currentTimeMillis();
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private CachedResponse(T body, String etag) {
+            this.body = body;
+            this.etag = etag;
+        }
+
+        private long ageMillis() {
+            return System.currentTimeMillis() - fetchedAt;
+        }
     }
 }
@@ -0,0 +1,272 @@
+package com.example.tasks.service;
+
+import com.example.tasks.dto.BulkCreateTasksResponse;
+import com.example.tasks.dto.BulkTaskResult;
+import com.example.tasks.dto.CreateTaskRequest;
+import com.example.tasks.dto.ImportReport;
+import com.example.tasks.model.User;
+import com.example.tasks.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streaming NDJSON import of users and tasks.
+ * The body is parsed one record at a time and applied in chunks, each chunk in its own
+ * transaction, so neither the upload nor the full set of records is ever held in memory.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImportService {
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final UserRepository userRepo;
+    private final UserCache userCache;
+    private final TaskService taskService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${tasks.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${tasks.import.max-errors:100}")
+    private int maxErrors;
+
+    /**
+     * Import users, one JSON object per line with {@code username}, {@code fullName} and {@code email}.
+     * Applies the same rules as {@link UserService#createUser}: soft-deleted users matching
+     * by username or email are reactivated, active matches are reported as conflicts.
+     */
+    public ImportReport importUsers(InputStream in) throws IOException {
+        log.info("Starting user import");
+        return importRecords(in, User.class, this::importUserChunk);
+    }
+
+    /**
+     * Import tasks, one JSON object per line in the {@code POST /api/tasks} format.
+     */
+    public ImportReport importTasks(InputStream in) throws IOException {
+        log.info("Starting task import");
+        return importRecords(in, CreateTaskRequest.class, this::importTaskChunk);
+    }
+
+    private <T> ImportReport importRecords(InputStream in, Class<T> type, ChunkHandler<T> handler) throws IOException {
+        ImportReport report = new ImportReport();
+        long start = System.nanoTime();
+        List<ImportRecord<T>> chunk = new ArrayList<>(chunkSize);
+
+        try (JsonParser parser = objectMapper.createParser(in)) {
+            while (true) {
+                long line = parser.getCurrentLocation().getLineNr();
+                JsonNode node;
+                try {
+                    if (parser.nextToken() == null) {
+                        break;
+                    }
+                    line = parser.getTokenLocation().getLineNr();
+                    node = objectMapper.readTree(parser);
+                } catch (StreamReadException e) {
+                    // The stream cannot be resynchronised after a syntax error
+                    report.setReceived(report.getReceived() + 1);
+                    fail(report, line, "Malformed JSON: " + e.getOriginalMessage());
+                    report.setAborted(true);
+                    break;
+                }
+
+                report.setReceived(report.getReceived() + 1);
+                if (!node.isObject()) {
+                    fail(report, line, "Expected a JSON object");
+                    continue;
+                }
+                T value;
+                try {
+                    value = objectMapper.treeToValue(node, type);
+                } catch (JsonProcessingException e) {
+                    fail(report, line, "Invalid record: " + e.getOriginalMessage());
+                    continue;
+                }
+                String violation = Violations.firstViolation(validator, value);
+                if (violation != null) {
+                    fail(report, line, violation);
+                    continue;
+                }
+
+                chunk.add(new ImportRecord<>(line, value));
+                if (chunk.size() >= chunkSize) {
+                    applyChunk(chunk, handler, report);
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            applyChunk(chunk, handler, report);
+        }
+
+        report.setDurationMs((System.nanoTime() - start) / 1_000_000);
+        log.info("Import finished: {} received, {} created, {} reactivated, {} failed in {} ms",
+                report.getReceived(), report.getCreated(), report.getReactivated(), report.getFailed(),
+                report.getDurationMs());
+        return report;
+    }
+
+    private <T> void applyChunk(List<ImportRecord<T>> chunk, ChunkHandler<T> handler, ImportReport report) {
+        try {
+            handler.apply(chunk, report);
+        } catch (DataAccessException e) {
+            log.error("Import chunk rolled back: {}", e.getMessage());
+            for (ImportRecord<T> record : chunk) {
+                fail(report, record.line(), "Chunk rolled back: " + e.getMostSpecificCause().getMessage());
+            }
+        }
+        report.setChunks(report.getChunks() + 1);
+        chunk.clear();
+        log.info("Import progress: {} received, {} created, {} reactivated, {} failed",
+                report.getReceived(), report.getCreated(), report.getReactivated(), report.getFailed());
+    }
+
+    private void importUserChunk(List<ImportRecord<User>> chunk, ImportReport report) {
+        // 1. Reject keys repeated within the chunk (ignoring case, like the collation) before touching the database
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        List<String> queryUsernames = new ArrayList<>();
+        List<String> queryEmails = new ArrayList<>();
+        List<ImportRecord<User>> candidates = new ArrayList<>();
+        for (ImportRecord<User> record : chunk) {
+            User user = record.value();
+            if (usernames.contains(UserKeys.of(user.getUsername()))) {
+                fail(report, record.line(), "Duplicate username in import: " + user.getUsername());
+            } else if (emails.contains(UserKeys.of(user.getEmail()))) {
+                fail(report, record.line(), "Duplicate email in import: " + user.getEmail());
+            } else {
+                usernames.add(UserKeys.of(user.getUsername()));
+                emails.add(UserKeys.of(user.getEmail()));
+                queryUsernames.add(user.getUsername());
+                queryEmails.add(user.getEmail());
+                candidates.add(record);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        // 2. Resolve every match with one query and write the chunk in one transaction
+        UserChunkOutcome outcome = transactionTemplate.execute(status -> {
+            UserChunkOutcome result = new UserChunkOutcome();
+            Map<String, User> byUsername = new HashMap<>();
+            Map<String, User> byEmail = new HashMap<>();
+            for (User existing : userRepo.findByUsernameInOrEmailIn(queryUsernames, queryEmails)) {
+                byUsername.put(UserKeys.of(existing.getUsername()), existing);
+                byEmail.put(UserKeys.of(existing.getEmail()), existing);
+            }
+
+            Set<Integer> claimed = new HashSet<>();
+            List<User> inserts = new ArrayList<>();
+            for (ImportRecord<User> record : candidates) {
+                User incoming = record.value();
+                User byName = byUsername.get(UserKeys.of(incoming.getUsername()));
+                User byMail = byEmail.get(UserKeys.of(incoming.getEmail()));
+
+                User target;
+                if (byName != null) {
+                    if ("Y".equals(byName.getIsActive())) {
+                        result.errors.add(new ImportReport.ImportError(record.line(),
+                                "User already exists with username: '" + incoming.getUsername() + "'"));
+                        continue;
+                    }
+                    if (byMail != null && !byMail.getUserId().equals(byName.getUserId())) {
+                        result.errors.add(new ImportReport.ImportError(record.line(),
+                                "User already exists with email: '" + incoming.getEmail() + "'"));
+                        continue;
+                    }
+                    target = byName;
+                } else if (byMail != null) {
+                    if ("Y".equals(byMail.getIsActive())) {
+                        result.errors.add(new ImportReport.ImportError(record.line(),
+                                "User already exists with email: '" + incoming.getEmail() + "'"));
+                        continue;
+                    }
+                    target = byMail;
+                } else {
+                    target = null;
+                }
+
+                if (target == null) {
+                    incoming.setUserId(null);
+                    incoming.setIsActive("Y");
+                    inserts.add(incoming);
+                } else if (!claimed.add(target.getUserId())) {
+                    result.errors.add(new ImportReport.ImportError(record.line(),
+                            "Matches a user already reactivated by this import"));
+                } else {
+                    // Reactivate the soft-deleted user; dirty checking batches the updates
+                    target.setIsActive("Y");
+                    target.setUsername(incoming.getUsername());
+                    target.setEmail(incoming.getEmail());
+                    target.setFullName(incoming.getFullName());
+                    result.reactivated.add(target);
+                }
+            }
+
+            userRepo.saveAll(inserts);
+            result.created = inserts.size();
+            return result;
+        });
+
+        // 3. Only committed changes reach the report and the cache
+        outcome.reactivated.forEach(userCache::invalidate);
+        report.setCreated(report.getCreated() + outcome.created);
+        report.setReactivated(report.getReactivated() + outcome.reactivated.size());
+        outcome.errors.forEach(error -> fail(report, error.getLine(), error.getMessage()));
+    }
+
+    private void importTaskChunk(List<ImportRecord<CreateTaskRequest>> chunk, ImportReport report) {
+        List<CreateTaskRequest> requests = new ArrayList<>(chunk.size());
+        chunk.forEach(record -> requests.add(record.value()));
+
+        BulkCreateTasksResponse response = taskService.createTasks(requests);
+        report.setCreated(report.getCreated() + response.getCreated());
+        for (BulkTaskResult result : response.getResults()) {
+            if (result.getStatus() == BulkTaskResult.Status.FAILED) {
+                fail(report, chunk.get(result.getIndex()).line(), result.getError());
+            }
+        }
+    }
+
+    private void fail(ImportReport report, long line, String message) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < maxErrors) {
+            report.getErrors().add(new ImportReport.ImportError(line, message));
+        }
+    }
+
+    private record ImportRecord<T>(long line, T value) {
+    }
+
+    @FunctionalInterface
+    private interface ChunkHandler<T> {
+        void apply(List<ImportRecord<T>> chunk, ImportReport report);
+    }
+
+    private static final class UserChunkOutcome {
+        private final List<User> reactivated = new ArrayList<>();
+        private final List<ImportReport.ImportError> errors = new ArrayList<>();
+        private int created;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.tasks.service;
+
+import com.example.tasks.config.ReplicaReads;
+import com.example.tasks.repository.TaskRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Approximate task totals per user and overall.
+ * Loaded lazily with one COUNT query, then adjusted in place by {@link TaskService}
+ * after each committed create/delete and reloaded once the TTL expires.
+ * Counts read from a read replica are returned but not cached. Past {@code max-entries}
+ * the least recently used users are evicted, never the whole cache.
+ */
+@Slf4j
+@Component
+public class TaskCountCache {
+    private static final Integer ALL_USERS = -1;
+
+    private final TaskRepository taskRepo;
+    /** Expiry runs from the load; adjustments change the count in place. */
+    private final Cache<Integer, AtomicLong> counts;
+
+    public TaskCountCache(TaskRepository taskRepo,
+                          @Value("${tasks.count-cache.ttl-seconds:600}") long ttlSeconds,
+                          @Value("${tasks.count-cache.max-entries:100000}") long maxEntries) {
+        this.taskRepo = taskRepo;
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public long countForUser(Integer userId) {
+        return get(userId);
+    }
+
+    public long countAll() {
+        return get(ALL_USERS);
+    }
+
+    /**
+     * Apply a committed change in the number of tasks owned by a user.
+     */
+    public void adjust(Integer userId, long delta) {
+        adjustEntry(userId, delta);
+        adjustEntry(ALL_USERS, delta);
+    }
+
+    public void evict(Integer userId) {
+        counts.invalidate(userId);
+        counts.invalidate(ALL_USERS);
+    }
+
+    private long get(Integer key) {
+        AtomicLong cached = counts.getIfPresent(key);
+        if (cached != null) {
+            return cached.get();
+        }
+        long mark = ReplicaReads.mark();
+        long loaded = ALL_USERS.equals(key) ? taskRepo.count() : taskRepo.countByUserUserId(key);
+        log.debug("Loaded task count {} for key {}", loaded, key);
+        if (ReplicaReads.since(mark)) {
+            // A replica count may miss committed changes, and adjustments would then start from it
+            return loaded;
+        }
+        counts.put(key, new AtomicLong(loaded));
+        return loaded;
+    }
+
+    private void adjustEntry(Integer key, long delta) {
+        // Absent entries are loaded fresh on the next read
+        AtomicLong cached = counts.getIfPresent(key);
+        if (cached != null) {
+            cached.addAndGet(delta);
+        }
+    }
+}
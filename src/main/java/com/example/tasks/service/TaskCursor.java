@@ -0,0 +1,76 @@
+package com.example.tasks.service;
+
+import com.example.tasks.exception.InvalidRequestException;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for task listings.
+ * Encodes the ordering key and the position of the last row returned.
+ */
+@Value
+public class TaskCursor {
+
+    /**
+     * Orderings that are backed by an index and may therefore be used for seeking.
+     */
+    public enum Key {
+        TASK_ID("taskId"),
+        UPDATED_AT("updatedAt");
+
+        private final String property;
+
+        Key(String property) {
+            this.property = property;
+        }
+
+        public String getProperty() {
+            return property;
+        }
+
+        public static Key fromProperty(String property) {
+            for (Key key : values()) {
+                if (key.property.equals(property)) {
+                    return key;
+                }
+            }
+            throw new InvalidRequestException("Unsupported orderBy: " + property);
+        }
+    }
+
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = "|";
+
+    Key key;
+    LocalDateTime updatedAt;
+    Integer taskId;
+
+    public String encode() {
+        String raw = VERSION + SEPARATOR + key.name() + SEPARATOR
+                + (updatedAt != null ? updatedAt.toString() : "") + SEPARATOR + taskId;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 4 || !VERSION.equals(parts[0])) {
+                throw new InvalidRequestException("Invalid cursor");
+            }
+            Key key = Key.valueOf(parts[1]);
+            LocalDateTime updatedAt = parts[2].isEmpty() ? null : LocalDateTime.parse(parts[2]);
+            if (key == Key.UPDATED_AT && updatedAt == null) {
+                throw new InvalidRequestException("Invalid cursor");
+            }
+            return new TaskCursor(key, updatedAt, Integer.valueOf(parts[3]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+}
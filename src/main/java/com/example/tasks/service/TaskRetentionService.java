@@ -0,0 +1,211 @@
+package com.example.tasks.service;
+
+import com.example.tasks.model.TaskStatus;
+import com.example.tasks.model.TaskStatusCountId;
+import com.example.tasks.repository.TaskArchiveRepository;
+import com.example.tasks.repository.TaskRepository;
+import com.example.tasks.repository.UserRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Retention for tasks of soft-deleted users. Users deactivated more than
+ * {@code tasks.retention.after-days} ago have their tasks archived to {@code tasks_archive}
+ * or deleted, one keyset-ordered chunk per short transaction, with set-based statements;
+ * {@code User.tasks} is never loaded. Status counters, the task count cache and the search
+ * index follow each committed chunk.
+ * <p>
+ * The purger yields to foreground traffic: it pauses between chunks and waits while requests
+ * are queuing for a pooled connection.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskRetentionService {
+    private static final int USER_BATCH = 100;
+
+    public enum Mode { ARCHIVE, DELETE }
+
+    private final TaskRepository taskRepo;
+    private final TaskArchiveRepository archiveRepo;
+    private final UserRepository userRepo;
+    private final TaskStatsService taskStatsService;
+    private final TaskCountCache taskCountCache;
+    private final TaskSearchService taskSearchService;
+    private final TransactionTemplate transactionTemplate;
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${tasks.retention.enabled:false}")
+    private boolean enabled;
+
+    @Value("${tasks.retention.mode:ARCHIVE}")
+    private Mode mode;
+
+    @Value("${tasks.retention.after-days:30}")
+    private int afterDays;
+
+    @Value("${tasks.retention.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${tasks.retention.chunk-pause-ms:100}")
+    private long chunkPauseMs;
+
+    @Value("${tasks.retention.busy-pause-ms:1000}")
+    private long busyPauseMs;
+
+    private HikariPoolMXBean pool;
+    private Counter purged;
+
+    @PostConstruct
+    void init() {
+        purged = Counter.builder("tasks.retention.purged")
+                .description("Tasks of deactivated users archived or deleted")
+                .tag("mode", mode.name().toLowerCase())
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.retention.interval-ms:3600000}",
+               initialDelayString = "${tasks.retention.initial-delay-ms:300000}")
+    public void purgePeriodically() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            purge();
+        } catch (RuntimeException e) {
+            log.warn("Task retention run failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * One pass over all users past the retention period.
+     *
+     * @return Number of tasks archived or deleted
+     */
+    public long purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(afterDays);
+        long start = System.nanoTime();
+        long total = 0;
+        int users = 0;
+        Integer afterUserId = 0;
+        List<Integer> userIds;
+        while (!(userIds = userRepo.findInactiveUserIdsAfter(cutoff, afterUserId, PageRequest.of(0, USER_BATCH)))
+                .isEmpty()) {
+            for (Integer userId : userIds) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return total;
+                }
+                long removed = purgeUser(userId);
+                if (removed > 0) {
+                    users++;
+                    total += removed;
+                }
+            }
+            afterUserId = userIds.get(userIds.size() - 1);
+        }
+        log.info("Task retention: {} {} tasks of {} users deactivated before {} in {} ms",
+                mode == Mode.ARCHIVE ? "archived" : "deleted", total, users, cutoff,
+                (System.nanoTime() - start) / 1_000_000);
+        return total;
+    }
+
+    private long purgeUser(Integer userId) {
+        long removed = 0;
+        Integer afterId = 0;
+        List<Integer> ids;
+        while (!(ids = taskRepo.findIdsByUserIdAfter(userId, afterId, PageRequest.of(0, chunkSize))).isEmpty()) {
+            if (!throttle()) {
+                break;
+            }
+            List<Integer> chunk = ids;
+            try {
+                Integer count = transactionTemplate.execute(tx -> purgeChunk(userId, chunk));
+                if (count == null) {
+                    log.info("User {} was reactivated, keeping the rest of their tasks", userId);
+                    break;
+                }
+                removed += count;
+                purged.increment(count);
+            } catch (DataAccessException e) {
+                log.warn("Task retention failed for user {}, tasks {}-{}: {}",
+                        userId, chunk.get(0), chunk.get(chunk.size() - 1), e.getMessage());
+            }
+            afterId = chunk.get(chunk.size() - 1);
+        }
+        return removed;
+    }
+
+    /**
+     * Archive or delete one chunk of a user's tasks.
+     *
+     * @return Tasks removed, or null if the user is active again
+     */
+    private Integer purgeChunk(Integer userId, List<Integer> taskIds) {
+        if (userRepo.findActiveVersion(userId).isPresent()) {
+            return null;
+        }
+        Map<TaskStatusCountId, Long> deltas = new HashMap<>();
+        for (Object[] row : taskRepo.countByTaskIdInGroupByStatus(taskIds)) {
+            deltas.put(new TaskStatusCountId(userId, (TaskStatus) row[0]), -((Long) row[1]));
+        }
+        if (mode == Mode.ARCHIVE) {
+            archiveRepo.copyFromTasks(taskIds);
+        }
+        int removed = taskRepo.deleteByTaskIdIn(taskIds);
+        taskStatsService.apply(deltas);
+        AfterCommit.run(() -> taskCountCache.adjust(userId, -removed));
+        taskSearchService.removeAfterCommit(taskIds);
+        return removed;
+    }
+
+    /**
+     * Pause between chunks, and longer while requests are waiting for a pooled connection.
+     *
+     * @return false if interrupted (shutdown); the run stops
+     */
+    private boolean throttle() {
+        try {
+            Thread.sleep(chunkPauseMs);
+            HikariPoolMXBean hikari = pool();
+            while (hikari != null && hikari.getThreadsAwaitingConnection() > 0) {
+                Thread.sleep(busyPauseMs);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private HikariPoolMXBean pool() {
+        if (pool == null) {
+            try {
+                if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                    pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+                }
+            } catch (SQLException e) {
+                log.debug("Connection pool not inspectable: {}", e.getMessage());
+            }
+        }
+        return pool;
+    }
+}
@@ -0,0 +1,317 @@
+package com.example.tasks.service;
+
+import org.springframework.stereotype.Component;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over task titles and descriptions.
+ * The index is partitioned by user, so a query only touches the postings of the
+ * user being searched and writers for one user never block readers of another.
+ * Terms are kept sorted per partition to answer prefix queries with a range scan.
+ */
+@Component
+public class TaskSearchIndex {
+    private static final int SNAPSHOT_MAGIC = 0x54534931; // "TSI1"
+    private static final float TITLE_WEIGHT = 2.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+    private static final float PREFIX_PENALTY = 0.7f;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final int MAX_TOKEN_LENGTH = 40;
+
+    private final Map<Integer, Partition> partitions = new ConcurrentHashMap<>();
+    /** Owner and stamp of every indexed task; updates of one task are serialized on its entry. */
+    private final Map<Integer, Owner> ownerOfTask = new ConcurrentHashMap<>();
+
+    /**
+     * A ranked match. Callers resolve the task itself from the database.
+     */
+    public record Hit(int taskId, double score) {
+    }
+
+    private record Owner(int userId, long stamp) {
+    }
+
+    /**
+     * Add or replace a task. Ignored if the index already holds a newer version, even under
+     * another user, so a late rebuild cannot overwrite a fresher update or undo a reassignment.
+     *
+     * @param stamp Version of the task, e.g. its {@code updatedAt} in microseconds
+     */
+    public void index(int taskId, int userId, String title, String description, long stamp) {
+        Map<String, Float> weights = new HashMap<>();
+        for (String token : tokenize(title)) {
+            weights.merge(token, TITLE_WEIGHT, Float::sum);
+        }
+        for (String token : tokenize(description)) {
+            weights.merge(token, DESCRIPTION_WEIGHT, Float::sum);
+        }
+        Doc doc = new Doc(userId, stamp, weights);
+
+        // The stamp is checked before the task leaves its current partition
+        ownerOfTask.compute(taskId, (id, previous) -> {
+            if (previous != null && previous.stamp() > stamp) {
+                return previous;
+            }
+            if (previous != null && previous.userId() != userId) {
+                partition(previous.userId()).remove(id);
+            }
+            partition(userId).put(id, doc);
+            return new Owner(userId, stamp);
+        });
+    }
+
+    public void remove(int taskId) {
+        ownerOfTask.computeIfPresent(taskId, (id, owner) -> {
+            partition(owner.userId()).remove(id);
+            return null;
+        });
+    }
+
+    public boolean contains(int taskId, long stamp) {
+        Owner owner = ownerOfTask.get(taskId);
+        return owner != null && owner.stamp() == stamp;
+    }
+
+    public int size() {
+        return ownerOfTask.size();
+    }
+
+    public List<Integer> taskIds() {
+        return new ArrayList<>(ownerOfTask.keySet());
+    }
+
+    /**
+     * Find a user's tasks containing every query token, either exactly or as a prefix.
+     * Results are ranked by tf-idf, with title matches weighted above description matches.
+     */
+    public List<Hit> search(int userId, String query, int limit) {
+        List<String> tokens = tokenize(query);
+        Partition partition = partitions.get(userId);
+        if (tokens.isEmpty() || partition == null) {
+            return List.of();
+        }
+        return partition.search(tokens, limit);
+    }
+
+    public void clear() {
+        partitions.clear();
+        ownerOfTask.clear();
+    }
+
+    /**
+     * Write all documents in a compact binary form. Partitions are locked one at a time.
+     */
+    public void writeSnapshot(DataOutputStream out) throws IOException {
+        out.writeInt(SNAPSHOT_MAGIC);
+        for (Partition partition : partitions.values()) {
+            partition.writeTo(out);
+        }
+        out.writeInt(-1);
+    }
+
+    /**
+     * Replace the index contents with a snapshot written by {@link #writeSnapshot}.
+     */
+    public void readSnapshot(DataInputStream in) throws IOException {
+        if (in.readInt() != SNAPSHOT_MAGIC) {
+            throw new IOException("Not a task search snapshot");
+        }
+        clear();
+        int taskId;
+        while ((taskId = in.readInt()) != -1) {
+            int userId = in.readInt();
+            long stamp = in.readLong();
+            int termCount = in.readInt();
+            Map<String, Float> weights = new HashMap<>(termCount * 2);
+            for (int i = 0; i < termCount; i++) {
+                weights.put(in.readUTF(), in.readFloat());
+            }
+            ownerOfTask.put(taskId, new Owner(userId, stamp));
+            partition(userId).put(taskId, new Doc(userId, stamp, weights));
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                int length = i - start;
+                if (length >= MIN_TOKEN_LENGTH) {
+                    tokens.add(lower.substring(start, start + Math.min(length, MAX_TOKEN_LENGTH)));
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private Partition partition(int userId) {
+        return partitions.computeIfAbsent(userId, id -> new Partition());
+    }
+
+    private static final class Doc {
+        private final int userId;
+        private final long stamp;
+        private final Map<String, Float> weights;
+        private final float norm;
+
+        private Doc(int userId, long stamp, Map<String, Float> weights) {
+            this.userId = userId;
+            this.stamp = stamp;
+            this.weights = weights;
+            float length = 0;
+            for (float weight : weights.values()) {
+                length += weight;
+            }
+            this.norm = (float) Math.sqrt(Math.max(1, length));
+        }
+    }
+
+    private static final class Partition {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final NavigableMap<String, Map<Integer, Float>> postings = new TreeMap<>();
+        private final Map<Integer, Doc> docs = new HashMap<>();
+
+        private void put(int taskId, Doc doc) {
+            lock.writeLock().lock();
+            try {
+                Doc previous = docs.get(taskId);
+                if (previous != null) {
+                    if (previous.stamp > doc.stamp) {
+                        return;
+                    }
+                    unlink(taskId, previous);
+                }
+                docs.put(taskId, doc);
+                doc.weights.forEach((term, weight) ->
+                        postings.computeIfAbsent(term, t -> new HashMap<>()).put(taskId, weight));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void remove(int taskId) {
+            lock.writeLock().lock();
+            try {
+                Doc previous = docs.remove(taskId);
+                if (previous != null) {
+                    unlink(taskId, previous);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void unlink(int taskId, Doc doc) {
+            for (String term : doc.weights.keySet()) {
+                Map<Integer, Float> termPostings = postings.get(term);
+                if (termPostings != null) {
+                    termPostings.remove(taskId);
+                    if (termPostings.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+        }
+
+        private List<Hit> search(List<String> tokens, int limit) {
+            lock.readLock().lock();
+            try {
+                double docCount = docs.size();
+                Map<Integer, double[]> matches = null;
+                for (String token : tokens) {
+                    // Score of each document for this token: best of the exact and prefix matches
+                    Map<Integer, Double> tokenScores = new HashMap<>();
+                    int expansions = 0;
+                    for (Map.Entry<String, Map<Integer, Float>> entry
+                            : postings.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+                        if (expansions++ >= MAX_PREFIX_EXPANSIONS) {
+                            break;
+                        }
+                        Map<Integer, Float> termPostings = entry.getValue();
+                        double idf = Math.log(1 + docCount / termPostings.size());
+                        double factor = entry.getKey().equals(token) ? 1.0 : PREFIX_PENALTY;
+                        for (Map.Entry<Integer, Float> posting : termPostings.entrySet()) {
+                            if (matches != null && !matches.containsKey(posting.getKey())) {
+                                continue;
+                            }
+                            tokenScores.merge(posting.getKey(), idf * posting.getValue() * factor, Math::max);
+                        }
+                    }
+
+                    // Every token must match: intersect with the documents matched so far
+                    Map<Integer, double[]> next = new HashMap<>();
+                    for (Map.Entry<Integer, Double> entry : tokenScores.entrySet()) {
+                        double previous = matches == null ? 0 : matches.get(entry.getKey())[0];
+                        next.put(entry.getKey(), new double[] {previous + entry.getValue()});
+                    }
+                    matches = next;
+                    if (matches.isEmpty()) {
+                        return List.of();
+                    }
+                }
+
+                PriorityQueue<Hit> top = new PriorityQueue<>((a, b) -> Double.compare(a.score(), b.score()));
+                for (Map.Entry<Integer, double[]> entry : matches.entrySet()) {
+                    double score = entry.getValue()[0] / docs.get(entry.getKey()).norm;
+                    if (top.size() < limit) {
+                        top.add(new Hit(entry.getKey(), score));
+                    } else if (score > top.peek().score()) {
+                        top.poll();
+                        top.add(new Hit(entry.getKey(), score));
+                    }
+                }
+                List<Hit> hits = new ArrayList<>(top);
+                hits.sort((a, b) -> Double.compare(b.score(), a.score()));
+                return hits;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private void writeTo(DataOutputStream out) throws IOException {
+            Map<Integer, Doc> copy;
+            lock.readLock().lock();
+            try {
+                copy = new LinkedHashMap<>(docs);
+            } finally {
+                lock.readLock().unlock();
+            }
+            // Docs are immutable once indexed, so they can be written outside the lock
+            for (Map.Entry<Integer, Doc> entry : copy.entrySet()) {
+                Doc doc = entry.getValue();
+                out.writeInt(entry.getKey());
+                out.writeInt(doc.userId);
+                out.writeLong(doc.stamp);
+                out.writeInt(doc.weights.size());
+                for (Map.Entry<String, Float> weight : doc.weights.entrySet()) {
+                    out.writeUTF(weight.getKey());
+                    out.writeFloat(weight.getValue());
+                }
+            }
+        }
+    }
+}
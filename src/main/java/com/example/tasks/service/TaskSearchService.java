@@ -0,0 +1,269 @@
+package com.example.tasks.service;
+
+import com.example.tasks.config.ReplicaReads;
+import com.example.tasks.dto.TaskSearchHit;
+import com.example.tasks.dto.TaskSummary;
+import com.example.tasks.exception.InvalidRequestException;
+import com.example.tasks.exception.ResourceNotFoundException;
+import com.example.tasks.model.Task;
+import com.example.tasks.repository.TaskRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Full-text search over a user's tasks, served from {@link TaskSearchIndex}.
+ * The index is kept in sync by {@link TaskService} after each commit, restored from a
+ * local snapshot on startup and then reconciled with the database in the background.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskSearchService {
+    private final TaskSearchIndex index;
+    private final TaskRepository taskRepo;
+    private final UserService userService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${tasks.search.enabled:true}")
+    private boolean enabled;
+
+    @Value("${tasks.search.snapshot-path:data/task-search.idx}")
+    private Path snapshotPath;
+
+    @Value("${tasks.search.max-results:50}")
+    private int maxResults;
+
+    @Value("${tasks.search.rebuild-batch-size:500}")
+    private int rebuildBatchSize;
+
+    private volatile boolean ready;
+
+    /**
+     * Search a user's tasks by title and description. Every query word must match,
+     * either exactly or as a prefix of an indexed word.
+     */
+    @Transactional(readOnly = true)
+    public List<TaskSearchHit> search(Integer userId, String query, Integer limit) {
+        if (!enabled) {
+            throw new InvalidRequestException("Task search is disabled");
+        }
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("q must not be blank");
+        }
+        if (!userService.existsById(userId)) {
+            log.error("User not found with ID: {}", userId);
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+        if (!ready) {
+            log.warn("Task search index is still being rebuilt; results may be incomplete");
+        }
+
+        int size = limit == null ? maxResults : Math.max(1, Math.min(limit, maxResults));
+        List<TaskSearchIndex.Hit> hits = index.search(userId, query, size);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        // Resolve hits with one primary-key lookup; tasks deleted meanwhile are skipped
+        List<Integer> ids = hits.stream().map(TaskSearchIndex.Hit::taskId).toList();
+        Map<Integer, TaskSummary> tasks = taskRepo.findSummariesByTaskIdIn(ids).stream()
+                .collect(Collectors.toMap(TaskSummary::getTaskId, Function.identity()));
+        List<TaskSearchHit> results = new ArrayList<>(hits.size());
+        for (TaskSearchIndex.Hit hit : hits) {
+            TaskSummary task = tasks.get(hit.taskId());
+            if (task != null && task.getUserId().equals(userId)) {
+                results.add(new TaskSearchHit(task, hit.score()));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Index a created or updated task once the surrounding transaction commits.
+     */
+    public void indexAfterCommit(Task task) {
+        indexAfterCommit(List.of(task));
+    }
+
+    public void indexAfterCommit(Collection<Task> tasks) {
+        if (enabled) {
+            // Fields are read after commit, when @PreUpdate has set the final updatedAt
+            AfterCommit.run(() -> tasks.forEach(task -> index.index(task.getTaskId(),
+                    task.getUser().getUserId(), task.getTitle(), task.getDescription(),
+                    stamp(task.getUpdatedAt()))));
+        }
+    }
+
+    /**
+     * Remove a deleted task once the surrounding transaction commits.
+     */
+    public void removeAfterCommit(Integer taskId) {
+        removeAfterCommit(List.of(taskId));
+    }
+
+    public void removeAfterCommit(Collection<Integer> taskIds) {
+        if (enabled) {
+            AfterCommit.run(() -> taskIds.forEach(index::remove));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::rebuild, "task-search-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.search.snapshot-interval-ms:600000}",
+               initialDelayString = "${tasks.search.snapshot-interval-ms:600000}")
+    public void snapshotPeriodically() {
+        if (enabled && ready) {
+            writeSnapshot();
+        }
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        if (enabled && ready) {
+            writeSnapshot();
+        }
+    }
+
+    private void rebuild() {
+        long start = System.nanoTime();
+        try {
+            loadSnapshot();
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            // From the primary: a lagging replica would drop recent tasks from the index
+            ReplicaReads.onPrimary(() -> {
+                if (index.size() == 0) {
+                    rebuildFromDatabase(readOnly);
+                } else {
+                    reconcileWithDatabase(readOnly);
+                }
+                return null;
+            });
+            ready = true;
+            log.info("Task search index ready with {} tasks in {} ms",
+                    index.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Task search index rebuild failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void rebuildFromDatabase(TransactionTemplate readOnly) {
+        log.info("Rebuilding task search index from the database");
+        readOnly.executeWithoutResult(status -> {
+            try (Stream<TaskSummary> tasks = taskRepo.streamAllSummaries()) {
+                tasks.forEach(this::index);
+            }
+        });
+    }
+
+    /**
+     * Bring a snapshot up to date: re-index tasks whose {@code updatedAt} differs
+     * and drop tasks that no longer exist. Only ids and timestamps are scanned.
+     */
+    private void reconcileWithDatabase(TransactionTemplate readOnly) {
+        // Tasks indexed after this point came from live updates and must not be dropped
+        List<Integer> snapshotIds = index.taskIds();
+        BitSet seen = new BitSet();
+        List<Integer> stale = new ArrayList<>();
+        readOnly.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = taskRepo.streamIndexStamps()) {
+                rows.forEach(row -> {
+                    int taskId = (Integer) row[0];
+                    seen.set(taskId);
+                    if (!index.contains(taskId, stamp((LocalDateTime) row[1]))) {
+                        stale.add(taskId);
+                    }
+                });
+            }
+        });
+
+        int removed = 0;
+        for (Integer taskId : snapshotIds) {
+            if (!seen.get(taskId)) {
+                index.remove(taskId);
+                removed++;
+            }
+        }
+        for (int i = 0; i < stale.size(); i += rebuildBatchSize) {
+            List<Integer> batch = stale.subList(i, Math.min(i + rebuildBatchSize, stale.size()));
+            readOnly.execute(status -> taskRepo.findSummariesByTaskIdIn(batch)).forEach(this::index);
+        }
+        log.info("Reconciled task search snapshot: {} re-indexed, {} removed", stale.size(), removed);
+    }
+
+    private void index(TaskSummary task) {
+        index.index(task.getTaskId(), task.getUserId(), task.getTitle(), task.getDescription(),
+                stamp(task.getUpdatedAt()));
+    }
+
+    private void loadSnapshot() {
+        if (!Files.exists(snapshotPath)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotPath)))) {
+            index.readSnapshot(in);
+            log.info("Loaded task search snapshot with {} tasks from {}", index.size(), snapshotPath);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable task search snapshot {}: {}", snapshotPath, e.getMessage());
+            index.clear();
+        }
+    }
+
+    private synchronized void writeSnapshot() {
+        long start = System.nanoTime();
+        Path temp = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        try {
+            if (snapshotPath.getParent() != null) {
+                Files.createDirectories(snapshotPath.getParent());
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                index.writeSnapshot(out);
+            }
+            Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Wrote task search snapshot with {} tasks in {} ms",
+                    index.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            log.error("Failed to write task search snapshot {}: {}", snapshotPath, e.getMessage());
+        }
+    }
+
+    private static long stamp(LocalDateTime updatedAt) {
+        return updatedAt == null ? 0 : updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + updatedAt.getNano() / 1_000;
+    }
+}
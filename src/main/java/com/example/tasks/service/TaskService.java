@@ -1,18 +1,52 @@
 package com.example.tasks.service;
 
+import com.example.tasks.config.ReplicaReads;
+import com.example.tasks.exception.InvalidRequestException;
+import com.example.tasks.exception.PreconditionFailedException;
 import com.example.tasks.exception.ResourceNotFoundException;
+import com.example.tasks.exception.ServiceBusyException;
+import com.example.tasks.dto.BulkCreateTasksResponse;
+import com.example.tasks.dto.BulkTaskResult;
 import com.example.tasks.dto.CreateTaskRequest;
+import com.example.tasks.dto.CursorPage;
+import com.example.tasks.dto.SliceResponse;
+import com.example.tasks.dto.TaskPageStamp;
+import com.example.tasks.dto.TaskSummary;
 import com.example.tasks.dto.UpdateTaskRequest;
 import com.example.tasks.model.Task;
 import com.example.tasks.model.TaskStatus;
+import com.example.tasks.model.TaskStatusCountId;
 import com.example.tasks.model.User;
 import com.example.tasks.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Slf4j
 @Service
@@ -20,11 +54,56 @@ import org.springframework.transaction.annotation.Transactional;
 public class TaskService {
     private final TaskRepository taskRepo;
     private final UserService userService;
+    private final TaskCountCache taskCountCache;
+    private final TaskSearchService taskSearchService;
+    private final TaskStatsService taskStatsService;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskWriteBatcher taskWriteBatcher;
+
+    /**
+     * Sort keys backed by an index. Per-user listings seek on (user_id, task_id),
+     * global listings may also use (updated_at, task_id).
+     */
+    private static final Set<String> USER_SORT_KEYS = Set.of("taskId");
+    private static final Set<String> GLOBAL_SORT_KEYS = Set.of("taskId", "updatedAt");
+
+    @Value("${tasks.pagination.cursor.default-limit:20}")
+    private int defaultCursorLimit;
+
+    @Value("${tasks.pagination.cursor.max-limit:100}")
+    private int maxCursorLimit;
+
+    @Value("${tasks.bulk.batch-size:50}")
+    private int bulkBatchSize;
+
+    @Value("${tasks.bulk.max-items:1000}")
+    private int bulkMaxItems;
+
+    @Value("${tasks.concurrency.status-update-retries:3}")
+    private int statusUpdateRetries;
+
+    @Value("${tasks.create-batching.wait-timeout-ms:5000}")
+    private long createWaitTimeoutMs;
     
-    @Transactional
+    /**
+     * Create one task. With {@code tasks.create-batching.enabled} the insert is handed to
+     * {@link TaskWriteBatcher} and shares a transaction with other concurrent creates;
+     * this returns once that transaction has committed.
+     */
     public Task createTask(CreateTaskRequest request) {
         log.debug("Creating task for user ID: {}", request.getUserId());
-        
+        if (taskWriteBatcher.isEnabled()) {
+            // Resolve the user (404) before queueing; the cache usually answers without a query,
+            // a miss reads the primary so a user just deactivated is not taken from a lagging replica
+            User user = ReplicaReads.onPrimary(() -> userService.getUserById(request.getUserId()));
+            return await(taskWriteBatcher.submit(() -> newTask(request, user)));
+        }
+        return transactionTemplate.execute(tx -> insertTask(request));
+    }
+
+    private Task insertTask(CreateTaskRequest request) {
         // Get the user
         User user = userService.getUserById(request.getUserId());
         if (user == null) {
@@ -33,18 +112,122 @@ public class TaskService {
         }
 
         // Create and save new task
-        Task task = Task.builder()
+        Task savedTask = taskRepo.save(newTask(request, user));
+        taskStatsService.recordCreated(user.getUserId(), savedTask.getStatus());
+        AfterCommit.run(() -> taskCountCache.adjust(user.getUserId(), 1));
+        taskSearchService.indexAfterCommit(savedTask);
+        return savedTask;
+    }
+
+    private static Task newTask(CreateTaskRequest request, User user) {
+        return Task.builder()
                 .title(request.getTitle())
                 .description(request.getDescription())
                 .status(request.getStatus() != null ? request.getStatus() : TaskStatus.TODO)
                 .user(user)
                 .build();
-        
-        return taskRepo.save(task);
+    }
+
+    /**
+     * Wait for a queued create to commit, at most {@code tasks.create-batching.wait-timeout-ms}.
+     * On timeout the client gets a 503; the task may still be inserted by a late batch.
+     */
+    private Task await(CompletableFuture<Task> result) {
+        try {
+            return result.get(createWaitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ServiceBusyException("Task creation did not complete in time; retry later");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Interrupted waiting for task creation; retry later");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
     }
     
+    /**
+     * Create many tasks in one transaction. Owning users are resolved with a single query
+     * and rows are inserted in JDBC batches of {@code tasks.bulk.batch-size}.
+     * Items failing validation or referring to unknown users are reported, not thrown.
+     *
+     * @param requests Tasks to create
+     * @return Per-item results in request order
+     */
+    @Transactional
+    public BulkCreateTasksResponse createTasks(List<CreateTaskRequest> requests) {
+        if (requests.size() > bulkMaxItems) {
+            throw new InvalidRequestException(String.format(
+                    "At most %d tasks can be created per request", bulkMaxItems));
+        }
+        log.info("Bulk creating {} tasks", requests.size());
+        long start = System.nanoTime();
+
+        // 1. Validate each item and collect the owning users
+        BulkTaskResult[] results = new BulkTaskResult[requests.size()];
+        Set<Integer> userIds = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String error = Violations.firstViolation(validator, requests.get(i));
+            if (error != null) {
+                results[i] = BulkTaskResult.failed(i, error);
+            } else {
+                userIds.add(requests.get(i).getUserId());
+            }
+        }
+
+        // 2. Resolve all owning users in one query
+        Map<Integer, User> users = userService.getActiveUsersByIds(userIds);
+
+        // 3. Build the tasks for items whose user exists
+        List<Task> tasks = new ArrayList<>();
+        List<Integer> taskIndexes = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            CreateTaskRequest request = requests.get(i);
+            User user = users.get(request.getUserId());
+            if (user == null) {
+                results[i] = BulkTaskResult.failed(i, "User not found with id: " + request.getUserId());
+                continue;
+            }
+            tasks.add(Task.builder()
+                    .title(request.getTitle())
+                    .description(request.getDescription())
+                    .status(request.getStatus() != null ? request.getStatus() : TaskStatus.TODO)
+                    .user(user)
+                    .build());
+            taskIndexes.add(i);
+        }
+
+        // 4. Insert in JDBC batches
+        persistInBatches(tasks);
+
+        Map<Integer, Long> createdPerUser = new HashMap<>();
+        Map<TaskStatusCountId, Long> createdPerStatus = new HashMap<>();
+        for (int j = 0; j < tasks.size(); j++) {
+            Task task = tasks.get(j);
+            results[taskIndexes.get(j)] = BulkTaskResult.created(taskIndexes.get(j), task.getTaskId());
+            createdPerUser.merge(task.getUser().getUserId(), 1L, Long::sum);
+            createdPerStatus.merge(new TaskStatusCountId(task.getUser().getUserId(), task.getStatus()), 1L, Long::sum);
+        }
+        taskStatsService.apply(createdPerStatus);
+        AfterCommit.run(() -> createdPerUser.forEach(taskCountCache::adjust));
+        taskSearchService.indexAfterCommit(tasks);
+
+        long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        log.info("Bulk created {} of {} tasks in {} ms ({} rows/s, batch size {})",
+                tasks.size(), requests.size(), elapsedMs, tasks.size() * 1000L / elapsedMs, bulkBatchSize);
+        return new BulkCreateTasksResponse(tasks.size(), requests.size() - tasks.size(), Arrays.asList(results));
+    }
+
     @Transactional(readOnly = true)
-    public Page<Task> getTasksByUserId(Integer userId, Pageable pageable) {
+    public Page<TaskSummary> getTasksByUserId(Integer userId, Pageable pageable) {
         log.debug("Fetching tasks for user ID: {}", userId);
         
         // Verify user exists
@@ -52,27 +235,177 @@ public class TaskService {
             log.error("User not found with ID: {}", userId);
             throw new ResourceNotFoundException("User", "id", userId);
         }
-            
-        return taskRepo.findByUserUserId(userId, pageable);
+
+        validateSort(pageable.getSort(), USER_SORT_KEYS);
+        return taskRepo.findSummariesByUserId(userId, pageable);
+    }
+
+    /**
+     * Count and latest change of a user's tasks, the cheap first step of a conditional page
+     * request. Validates the user and sort like {@link #getTasksByUserId(Integer, Pageable)}.
+     */
+    @Transactional(readOnly = true)
+    public TaskPageStamp getTaskPageStamp(Integer userId, Pageable pageable) {
+        if (!userService.existsById(userId)) {
+            log.error("User not found with ID: {}", userId);
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+        validateSort(pageable.getSort(), USER_SORT_KEYS);
+        return taskRepo.findPageStampByUserId(userId);
+    }
+
+    /**
+     * Page of a user's tasks whose total is taken from {@code stamp} instead of a separate
+     * {@code COUNT(*)} query. Call {@link #getTaskPageStamp} first.
+     */
+    @Transactional(readOnly = true)
+    public Page<TaskSummary> getTasksByUserId(Integer userId, Pageable pageable, TaskPageStamp stamp) {
+        log.debug("Fetching tasks for user ID: {}", userId);
+        return new PageImpl<>(taskRepo.findSummaryListByUserId(userId, pageable), pageable, stamp.getCount());
     }
 
     @Transactional(readOnly = true)
-    public Page<Task> getAllTasks(Pageable pageable) {
+    public Page<TaskSummary> getAllTasks(Pageable pageable) {
         log.debug("Fetching all tasks");
-        return taskRepo.findAll(pageable);
+        validateSort(pageable.getSort(), GLOBAL_SORT_KEYS);
+        return taskRepo.findAllSummaries(pageable);
+    }
+
+    /**
+     * Page of tasks without the {@code COUNT(*)} query that {@link Page} requires.
+     *
+     * @param userId           Optional owner filter
+     * @param pageable         Pagination information
+     * @param approximateTotal Whether to attach the cached per-user (or global) total
+     * @return Slice of tasks with has-next information only
+     */
+    @Transactional(readOnly = true)
+    public SliceResponse<TaskSummary> getTaskSlice(Integer userId, Pageable pageable, boolean approximateTotal) {
+        log.debug("Fetching task slice for user ID: {}", userId);
+
+        Slice<TaskSummary> slice;
+        if (userId != null) {
+            if (!userService.existsById(userId)) {
+                log.error("User not found with ID: {}", userId);
+                throw new ResourceNotFoundException("User", "id", userId);
+            }
+            validateSort(pageable.getSort(), USER_SORT_KEYS);
+            slice = taskRepo.findSummarySliceByUserId(userId, pageable);
+        } else {
+            validateSort(pageable.getSort(), GLOBAL_SORT_KEYS);
+            slice = taskRepo.findAllSummariesAsSlice(pageable);
+        }
+
+        Long total = null;
+        if (approximateTotal) {
+            total = userId != null ? taskCountCache.countForUser(userId) : taskCountCache.countAll();
+        }
+        return new SliceResponse<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext(), total);
+    }
+
+    /**
+     * Keyset pagination over tasks. Seeks past the position encoded in {@code after}
+     * instead of skipping rows, so the cost of a page does not grow with its depth.
+     *
+     * @param userId  Optional owner filter
+     * @param after   Cursor returned by the previous page, or blank for the first page
+     * @param limit   Page size, capped at the configured maximum
+     * @param orderBy Ordering for the first page, {@code taskId} if null; later pages reuse the cursor's ordering
+     * @return Page of tasks with the cursor for the next page
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<TaskSummary> getTasksAfter(Integer userId, String after, Integer limit, String orderBy) {
+        log.debug("Fetching tasks after cursor for user ID: {}", userId);
+
+        int size = resolveLimit(limit);
+        TaskCursor cursor = after == null || after.isBlank() ? null : TaskCursor.decode(after);
+        TaskCursor.Key key = cursor != null ? cursor.getKey()
+                : orderBy == null ? TaskCursor.Key.TASK_ID : TaskCursor.Key.fromProperty(orderBy);
+        validateSort(Sort.by(key.getProperty()), userId != null ? USER_SORT_KEYS : GLOBAL_SORT_KEYS);
+
+        // Fetch one extra row to learn whether another page follows
+        Pageable window = PageRequest.of(0, size + 1);
+        List<TaskSummary> tasks;
+        if (userId != null) {
+            if (!userService.existsById(userId)) {
+                log.error("User not found with ID: {}", userId);
+                throw new ResourceNotFoundException("User", "id", userId);
+            }
+            tasks = taskRepo.findByUserIdAfter(userId, cursor != null ? cursor.getTaskId() : 0, window);
+        } else if (key == TaskCursor.Key.UPDATED_AT) {
+            tasks = cursor == null
+                    ? taskRepo.findFirstByUpdatedAt(window)
+                    : taskRepo.findAfterUpdatedAt(cursor.getUpdatedAt(), cursor.getTaskId(), window);
+        } else {
+            tasks = taskRepo.findAfter(cursor != null ? cursor.getTaskId() : 0, window);
+        }
+
+        boolean hasNext = tasks.size() > size;
+        if (hasNext) {
+            tasks = tasks.subList(0, size);
+        }
+        String nextCursor = null;
+        if (hasNext) {
+            TaskSummary last = tasks.get(tasks.size() - 1);
+            nextCursor = new TaskCursor(key,
+                    key == TaskCursor.Key.UPDATED_AT ? last.getUpdatedAt() : null,
+                    last.getTaskId()).encode();
+        }
+        return new CursorPage<>(tasks, size, nextCursor, hasNext);
     }
 
-    @Transactional
     public Task updateTask(Integer taskId, UpdateTaskRequest request) {
+        return updateTask(taskId, request, null);
+    }
+
+    /**
+     * Update a task under optimistic locking.
+     * <p>
+     * With {@code expectedVersion} (the client's {@code If-Match}) the update only applies to that
+     * version. Without it, an update that only changes the status is retried up to
+     * {@code tasks.concurrency.status-update-retries} times when a concurrent write wins: setting a
+     * status commutes with other changes, as long as the rest of the request still matches the row.
+     * Other conflicts surface as {@link OptimisticLockingFailureException}.
+     */
+    public Task updateTask(Integer taskId, UpdateTaskRequest request, Long expectedVersion) {
+        for (int attempt = 0; ; attempt++) {
+            AtomicBoolean statusOnly = new AtomicBoolean();
+            try {
+                return transactionTemplate.execute(tx -> applyUpdate(taskId, request, expectedVersion, statusOnly));
+            } catch (OptimisticLockingFailureException e) {
+                if (expectedVersion != null || !statusOnly.get() || attempt >= statusUpdateRetries) {
+                    throw e;
+                }
+                log.debug("Retrying status update of task ID: {} after a concurrent write", taskId);
+            }
+        }
+    }
+
+    private Task applyUpdate(Integer taskId, UpdateTaskRequest request, Long expectedVersion,
+                             AtomicBoolean statusOnly) {
         log.info("Updating task ID: {} with request", taskId);
         
         // 1. Find existing task
         Task existingTask = taskRepo.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task", "id", taskId));
+        if (expectedVersion != null && !expectedVersion.equals(existingTask.getVersion())) {
+            throw new PreconditionFailedException("Task", taskId, expectedVersion, existingTask.getVersion());
+        }
+        Integer previousUserId = existingTask.getUser().getUserId();
+        TaskStatus previousStatus = existingTask.getStatus();
+        statusOnly.set((request.getUserId() == null || request.getUserId().equals(previousUserId))
+                && (request.getTitle() == null || request.getTitle().equals(existingTask.getTitle()))
+                && (request.getDescription() == null || request.getDescription().equals(existingTask.getDescription())));
         
         // 2. Update user if specified in the request
         if (request.getUserId() != null) {
             User user = userService.getUserById(request.getUserId());
+            if (!previousUserId.equals(user.getUserId())) {
+                AfterCommit.run(() -> {
+                    taskCountCache.adjust(previousUserId, -1);
+                    taskCountCache.adjust(user.getUserId(), 1);
+                });
+            }
             existingTask.setUser(user);
         }
         
@@ -87,8 +420,12 @@ public class TaskService {
             existingTask.setStatus(request.getStatus());
         }
         
-        // 4. Save and return
-        return taskRepo.save(existingTask);
+        // 4. Save, flushing so a version conflict is raised here rather than at commit
+        Task savedTask = taskRepo.saveAndFlush(existingTask);
+        taskStatsService.recordMoved(previousUserId, previousStatus,
+                savedTask.getUser().getUserId(), savedTask.getStatus());
+        taskSearchService.indexAfterCommit(savedTask);
+        return savedTask;
     }
 
     @Transactional
@@ -101,6 +438,51 @@ public class TaskService {
                     return new ResourceNotFoundException("Task", "id", id);
                 });
                 
+        Integer userId = task.getUser().getUserId();
         taskRepo.delete(task);
+        taskStatsService.recordDeleted(userId, task.getStatus());
+        AfterCommit.run(() -> taskCountCache.adjust(userId, -1));
+        taskSearchService.removeAfterCommit(id);
+    }
+
+    private int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return defaultCursorLimit;
+        }
+        if (limit < 1) {
+            throw new InvalidRequestException("limit must be at least 1");
+        }
+        return Math.min(limit, maxCursorLimit);
+    }
+
+    /**
+     * Reject sort keys without a supporting index so clients cannot trigger
+     * unindexed sorts through arbitrary {@code sort=} parameters.
+     */
+    private void validateSort(Sort sort, Set<String> allowed) {
+        for (Sort.Order order : sort) {
+            if (!allowed.contains(order.getProperty())) {
+                throw new InvalidRequestException(String.format(
+                        "Unsupported sort key '%s', allowed: %s", order.getProperty(), allowed));
+            }
+        }
+    }
+
+    /**
+     * Persist new tasks, flushing every {@code tasks.bulk.batch-size} rows so Hibernate
+     * sends them as JDBC batches. Requires the pooled sequence id on {@link Task};
+     * IDENTITY ids would force one round trip per insert.
+     */
+    private void persistInBatches(List<Task> tasks) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(bulkBatchSize);
+        for (int i = 0; i < tasks.size(); i++) {
+            entityManager.persist(tasks.get(i));
+            if ((i + 1) % bulkBatchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
     }
 }
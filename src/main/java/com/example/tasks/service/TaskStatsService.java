@@ -0,0 +1,222 @@
+package com.example.tasks.service;
+
+import com.example.tasks.dto.TaskStats;
+import com.example.tasks.exception.ResourceNotFoundException;
+import com.example.tasks.model.TaskStatus;
+import com.example.tasks.model.TaskStatusCount;
+import com.example.tasks.model.TaskStatusCountId;
+import com.example.tasks.repository.TaskRepository;
+import com.example.tasks.repository.TaskStatusCountRepository;
+import com.example.tasks.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Per-user task counts by status, kept in {@code Tasks.task_status_counts}.
+ * {@link TaskService} applies a delta in the same transaction as every task write;
+ * a scheduled reconciler recomputes the counts with GROUP BY and repairs any drift.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskStatsService {
+    private static final Comparator<TaskStatusCountId> KEY_ORDER =
+            Comparator.comparing(TaskStatusCountId::getUserId).thenComparing(TaskStatusCountId::getStatus);
+
+    private final TaskStatusCountRepository countRepo;
+    private final TaskRepository taskRepo;
+    private final UserRepository userRepo;
+    private final UserService userService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${tasks.task-stats.reconcile-enabled:true}")
+    private boolean reconcileEnabled;
+
+    @Value("${tasks.task-stats.reconcile-batch-size:500}")
+    private int reconcileBatchSize;
+
+    @Transactional(readOnly = true)
+    public TaskStats getStatsForUser(Integer userId) {
+        if (!userService.existsById(userId)) {
+            log.error("User not found with ID: {}", userId);
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+        return toStats(userId, countRepo.findByIdUserId(userId));
+    }
+
+    /**
+     * Counts for every user that has had tasks, ordered by user id.
+     */
+    @Transactional(readOnly = true)
+    public Page<TaskStats> getStatsForAllUsers(Pageable pageable) {
+        Page<Integer> userIds = countRepo.findUserIds(PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+        Map<Integer, List<TaskStatusCount>> rows = countRepo.findByUserIdIn(userIds.getContent()).stream()
+                .collect(Collectors.groupingBy(row -> row.getId().getUserId()));
+        List<TaskStats> stats = userIds.getContent().stream()
+                .map(userId -> toStats(userId, rows.getOrDefault(userId, List.of())))
+                .toList();
+        return new PageImpl<>(stats, userIds.getPageable(), userIds.getTotalElements());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Integer userId, TaskStatus status) {
+        apply(Map.of(new TaskStatusCountId(userId, status), 1L));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(Integer userId, TaskStatus status) {
+        apply(Map.of(new TaskStatusCountId(userId, status), -1L));
+    }
+
+    /**
+     * Record a status change and/or reassignment. A no-op if neither changed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordMoved(Integer fromUserId, TaskStatus fromStatus, Integer toUserId, TaskStatus toStatus) {
+        TaskStatusCountId from = new TaskStatusCountId(fromUserId, fromStatus);
+        TaskStatusCountId to = new TaskStatusCountId(toUserId, toStatus);
+        if (!from.equals(to)) {
+            apply(Map.of(from, -1L, to, 1L));
+        }
+    }
+
+    /**
+     * Apply several deltas, updating rows in key order so concurrent writers cannot deadlock.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Map<TaskStatusCountId, Long> deltas) {
+        Map<TaskStatusCountId, Long> ordered = new TreeMap<>(KEY_ORDER);
+        ordered.putAll(deltas);
+        ordered.forEach((id, delta) -> {
+            if (delta != 0 && countRepo.increment(id.getUserId(), id.getStatus(), delta) == 0) {
+                createCounters(id.getUserId());
+                countRepo.increment(id.getUserId(), id.getStatus(), delta);
+            }
+        });
+    }
+
+    /**
+     * Recompute every user's counts from the tasks table, one batch of users per transaction.
+     * The batch's counter rows are locked first, so task writes for those users wait
+     * and no concurrent delta is lost.
+     */
+    @Scheduled(fixedDelayString = "${tasks.task-stats.reconcile-interval-ms:3600000}",
+               initialDelayString = "${tasks.task-stats.reconcile-initial-delay-ms:60000}")
+    public void reconcile() {
+        if (!reconcileEnabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int users = 0;
+        int repaired = 0;
+        Integer afterId = 0;
+        List<Integer> userIds;
+        while (!(userIds = userRepo.findUserIdsAfter(afterId, PageRequest.of(0, reconcileBatchSize))).isEmpty()) {
+            List<Integer> batch = userIds;
+            try {
+                repaired += transaction.execute(status -> reconcileUsers(batch));
+            } catch (DataAccessException e) {
+                log.warn("Task stats reconcile failed for users {}-{}: {}",
+                        batch.get(0), batch.get(batch.size() - 1), e.getMessage());
+            }
+            users += batch.size();
+            afterId = batch.get(batch.size() - 1);
+        }
+        log.info("Reconciled task stats for {} users in {} ms, {} counters repaired",
+                users, (System.nanoTime() - start) / 1_000_000, repaired);
+    }
+
+    private int reconcileUsers(List<Integer> userIds) {
+        Map<TaskStatusCountId, TaskStatusCount> counters = new HashMap<>();
+        countRepo.lockByUserIdIn(userIds).forEach(counter -> counters.put(counter.getId(), counter));
+
+        List<TaskStatusCount> missing = new ArrayList<>();
+        int repaired = 0;
+        for (Object[] row : taskRepo.countByUserIdInGroupByStatus(userIds)) {
+            TaskStatusCountId id = new TaskStatusCountId((Integer) row[0], (TaskStatus) row[1]);
+            long actual = (Long) row[2];
+            TaskStatusCount counter = counters.remove(id);
+            if (counter == null) {
+                missing.add(new TaskStatusCount(id, actual));
+                repaired++;
+            } else if (counter.getTaskCount() != actual) {
+                log.warn("Task stats drift for user {} {}: counted {}, actual {}",
+                        id.getUserId(), id.getStatus(), counter.getTaskCount(), actual);
+                counter.setTaskCount(actual);
+                repaired++;
+            }
+        }
+        // Counters left over have no tasks behind them
+        for (TaskStatusCount counter : counters.values()) {
+            if (counter.getTaskCount() != 0) {
+                log.warn("Task stats drift for user {} {}: counted {}, actual 0",
+                        counter.getId().getUserId(), counter.getId().getStatus(), counter.getTaskCount());
+                counter.setTaskCount(0);
+                repaired++;
+            }
+        }
+        countRepo.saveAll(missing);
+        return repaired;
+    }
+
+    /**
+     * Insert zeroed counters for every status of a user in a separate transaction,
+     * so a concurrent insert by another writer only fails this step, not the caller.
+     */
+    private void createCounters(Integer userId) {
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            requiresNew.executeWithoutResult(status -> {
+                Map<TaskStatus, TaskStatusCount> existing = new EnumMap<>(TaskStatus.class);
+                countRepo.findByIdUserId(userId).forEach(counter -> existing.put(counter.getId().getStatus(), counter));
+                List<TaskStatusCount> created = new ArrayList<>();
+                for (TaskStatus taskStatus : TaskStatus.values()) {
+                    if (!existing.containsKey(taskStatus)) {
+                        created.add(new TaskStatusCount(new TaskStatusCountId(userId, taskStatus), 0));
+                    }
+                }
+                countRepo.saveAll(created);
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Task stats counters for user {} were created concurrently", userId);
+        }
+    }
+
+    private static TaskStats toStats(Integer userId, List<TaskStatusCount> rows) {
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            counts.put(status, 0L);
+        }
+        long total = 0;
+        for (TaskStatusCount row : rows) {
+            counts.put(row.getId().getStatus(), row.getTaskCount());
+            total += row.getTaskCount();
+        }
+        return new TaskStats(userId, counts, total);
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.tasks.service;
+
+import com.example.tasks.dto.StatusTransitionReport;
+import com.example.tasks.dto.StatusTransitionRequest;
+import com.example.tasks.exception.InvalidRequestException;
+import com.example.tasks.model.TaskStatus;
+import com.example.tasks.model.TaskStatusCountId;
+import com.example.tasks.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk status transitions as set-based updates. Matching task ids are walked in keyset order
+ * and each chunk is moved with one {@code UPDATE} in its own short transaction, together with
+ * the status counters. Chunks stay well below the ~5000 row locks at which SQL Server escalates
+ * to a table lock, so foreground writes to other tasks are not blocked.
+ * <p>
+ * A scheduled job archives tasks that have been {@code DONE} for {@code tasks.archival.after-days}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskTransitionService {
+    /** Bounds used for an open {@code updatedAt} range; inside the DATETIME2 range. */
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1900, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 1, 1, 0, 0);
+    private static final int PROGRESS_LOG_CHUNKS = 50;
+
+    private final TaskRepository taskRepo;
+    private final TaskStatsService taskStatsService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${tasks.status-transitions.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${tasks.status-transitions.chunk-pause-ms:0}")
+    private long chunkPauseMs;
+
+    @Value("${tasks.archival.enabled:false}")
+    private boolean archivalEnabled;
+
+    @Value("${tasks.archival.after-days:30}")
+    private int archiveAfterDays;
+
+    public StatusTransitionReport transition(StatusTransitionRequest request) {
+        if (request.getFromStatus() == request.getToStatus()) {
+            throw new InvalidRequestException("fromStatus and toStatus must differ");
+        }
+        LocalDateTime from = request.getUpdatedFrom() != null ? request.getUpdatedFrom() : EARLIEST;
+        LocalDateTime before = request.getUpdatedBefore() != null ? request.getUpdatedBefore() : LATEST;
+        if (!from.isBefore(before)) {
+            throw new InvalidRequestException("updatedFrom must be before updatedBefore");
+        }
+
+        TaskStatus fromStatus = request.getFromStatus();
+        TaskStatus toStatus = request.getToStatus();
+        Integer userId = request.getUserId();
+        log.info("Moving tasks from {} to {} (user {}, updated in [{}, {}))",
+                fromStatus, toStatus, userId != null ? userId : "any", from, before);
+        Counter moved = Counter.builder("tasks.status.transitions")
+                .description("Tasks moved by bulk status transitions")
+                .tag("from", fromStatus.name())
+                .tag("to", toStatus.name())
+                .register(meterRegistry);
+
+        StatusTransitionReport report = new StatusTransitionReport();
+        report.setFromStatus(fromStatus);
+        report.setToStatus(toStatus);
+        long start = System.nanoTime();
+        Integer afterId = 0;
+        List<Integer> ids;
+        while (!(ids = nextChunk(userId, fromStatus, from, before, afterId)).isEmpty()) {
+            List<Integer> chunk = ids;
+            try {
+                int updated = transactionTemplate.execute(tx -> moveChunk(chunk, fromStatus, toStatus));
+                report.setUpdated(report.getUpdated() + updated);
+                moved.increment(updated);
+            } catch (DataAccessException e) {
+                report.setFailedChunks(report.getFailedChunks() + 1);
+                log.warn("Status transition failed for tasks {}-{}: {}",
+                        chunk.get(0), chunk.get(chunk.size() - 1), e.getMessage());
+            }
+            afterId = chunk.get(chunk.size() - 1);
+            report.setChunks(report.getChunks() + 1);
+            report.setLastTaskId(afterId);
+            if (report.getChunks() % PROGRESS_LOG_CHUNKS == 0) {
+                log.info("Moved {} tasks from {} to {} so far ({} chunks, last task id {})",
+                        report.getUpdated(), fromStatus, toStatus, report.getChunks(), afterId);
+            }
+            pause();
+        }
+        report.setDurationMs((System.nanoTime() - start) / 1_000_000);
+        log.info("Moved {} tasks from {} to {} in {} chunks ({} failed) in {} ms", report.getUpdated(),
+                fromStatus, toStatus, report.getChunks(), report.getFailedChunks(), report.getDurationMs());
+        return report;
+    }
+
+    /**
+     * Archive tasks that have been {@code DONE} for longer than {@code tasks.archival.after-days}.
+     */
+    @Scheduled(cron = "${tasks.archival.cron:0 30 2 * * *}")
+    public void archiveDoneTasks() {
+        if (!archivalEnabled) {
+            return;
+        }
+        StatusTransitionRequest request = new StatusTransitionRequest();
+        request.setFromStatus(TaskStatus.DONE);
+        request.setToStatus(TaskStatus.ARCHIVED);
+        request.setUpdatedBefore(LocalDateTime.now().minusDays(archiveAfterDays));
+        try {
+            transition(request);
+        } catch (RuntimeException e) {
+            log.warn("Scheduled task archival failed: {}", e.getMessage());
+        }
+    }
+
+    private List<Integer> nextChunk(Integer userId, TaskStatus status, LocalDateTime from,
+                                    LocalDateTime before, Integer afterId) {
+        PageRequest limit = PageRequest.of(0, chunkSize);
+        return userId != null
+                ? taskRepo.findIdsByUserIdAndStatusAfter(userId, status, from, before, afterId, limit)
+                : taskRepo.findIdsByStatusAfter(status, from, before, afterId, limit);
+    }
+
+    /**
+     * Move one chunk and apply the counter deltas of the rows actually changed; a task whose
+     * status changed since it was selected is left alone.
+     */
+    private int moveChunk(List<Integer> taskIds, TaskStatus fromStatus, TaskStatus toStatus) {
+        // DATETIME2(6) keeps microseconds; truncate so the stamp compares equal once stored
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        int updated = taskRepo.updateStatus(taskIds, fromStatus, toStatus, now);
+        if (updated == 0) {
+            return 0;
+        }
+        Map<TaskStatusCountId, Long> deltas = new HashMap<>();
+        for (Object[] row : taskRepo.countUpdatedByUserId(taskIds, toStatus, now)) {
+            Integer userId = (Integer) row[0];
+            long count = (Long) row[1];
+            deltas.merge(new TaskStatusCountId(userId, fromStatus), -count, Long::sum);
+            deltas.merge(new TaskStatusCountId(userId, toStatus), count, Long::sum);
+        }
+        taskStatsService.apply(deltas);
+        return updated;
+    }
+
+    private void pause() {
+        if (chunkPauseMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(chunkPauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.tasks.service;
+
+import com.example.tasks.exception.ServiceBusyException;
+import com.example.tasks.model.Task;
+import com.example.tasks.model.TaskStatusCountId;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Group commit for single task creation. Request threads enqueue a validated task and wait;
+ * one writer thread inserts whatever has queued up, at most {@code max-batch-size} tasks or
+ * {@code linger-ms} after the first one, as one JDBC batch in one transaction. Each caller's
+ * future completes with its saved task only after that commit, so a 201 still means durable.
+ * When the bounded queue is full the task is rejected instead of buffered.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskWriteBatcher {
+    private static final long IDLE_POLL_MS = 100;
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskStatsService taskStatsService;
+    private final TaskCountCache taskCountCache;
+    private final TaskSearchService taskSearchService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${tasks.create-batching.enabled:false}")
+    private boolean enabled;
+
+    @Value("${tasks.create-batching.queue-capacity:10000}")
+    private int capacity;
+
+    @Value("${tasks.create-batching.max-batch-size:200}")
+    private int maxBatchSize;
+
+    @Value("${tasks.create-batching.linger-ms:5}")
+    private long lingerMs;
+
+    private BlockingQueue<PendingTask> queue;
+    private DistributionSummary batchSizes;
+    private Timer flushTimer;
+    private Timer waitTimer;
+    private Counter rejected;
+    private volatile boolean running;
+    private Thread thread;
+
+    /** A task waiting for the writer; built into an entity only inside the transaction. */
+    private record PendingTask(Supplier<Task> task, CompletableFuture<Task> result, long enqueuedAt) {
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(capacity);
+        Gauge.builder("tasks.create.queue.depth", queue, BlockingQueue::size)
+                .description("Tasks waiting for the group-commit writer")
+                .register(meterRegistry);
+        batchSizes = DistributionSummary.builder("tasks.create.batch.size")
+                .description("Tasks inserted per transaction")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        flushTimer = Timer.builder("tasks.create.flush")
+                .description("Insert and commit of one batch")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        waitTimer = Timer.builder("tasks.create.wait")
+                .description("Time from enqueue to commit, per task")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        rejected = Counter.builder("tasks.create.rejected")
+                .description("Tasks rejected because the queue was full")
+                .register(meterRegistry);
+
+        running = true;
+        thread = new Thread(this::run, "task-write-batcher");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("Group commit for task creation enabled (queue {}, batch {}, linger {} ms)",
+                capacity, maxBatchSize, lingerMs);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (thread == null) {
+            return;
+        }
+        // The writer drains what is already queued before it exits
+        running = false;
+        thread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queue a task for the next batch. The supplier is called on the writer thread and must
+     * build a new, unsaved entity each time (a failed batch is retried task by task).
+     *
+     * @return completes with the saved task after commit, or exceptionally if its insert failed
+     * @throws ServiceBusyException if the queue is full
+     */
+    public CompletableFuture<Task> submit(Supplier<Task> task) {
+        CompletableFuture<Task> result = new CompletableFuture<>();
+        if (!running || !queue.offer(new PendingTask(task, result, System.nanoTime()))) {
+            rejected.increment();
+            throw new ServiceBusyException("Too many tasks being created; retry later");
+        }
+        return result;
+    }
+
+    /**
+     * The writer thread. However it exits, new tasks are rejected and queued ones failed, so no
+     * caller waits for a writer that is gone.
+     */
+    private void run() {
+        try {
+            drainLoop();
+        } catch (Error e) {
+            log.error("Task write batcher stopped", e);
+            throw e;
+        } finally {
+            running = false;
+            PendingTask left;
+            while ((left = queue.poll()) != null) {
+                left.result().completeExceptionally(new ServiceBusyException("Shutting down; retry later"));
+            }
+        }
+    }
+
+    private void drainLoop() {
+        List<PendingTask> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingTask first = queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Wait up to linger-ms after the first task for the batch to fill
+                long deadline = first.enqueuedAt() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingTask next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                }
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(batch, e);
+                break;
+            } catch (RuntimeException e) {
+                log.error("Task write batch of {} failed unexpectedly", batch.size(), e);
+                fail(batch, e);
+            } catch (Error e) {
+                fail(batch, e);
+                throw e;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Insert the batch in one transaction. If it fails, every task is retried on its own
+     * so one bad row does not fail the others.
+     */
+    private void write(List<PendingTask> batch) {
+        List<Task> saved;
+        try {
+            saved = flushTimer.record(() -> transactionTemplate.execute(tx -> insert(batch)));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result().completeExceptionally(e);
+                return;
+            }
+            log.warn("Task write batch of {} failed, retrying one by one: {}", batch.size(), e.getMessage());
+            for (PendingTask task : batch) {
+                write(List.of(task));
+            }
+            return;
+        }
+        batchSizes.record(batch.size());
+        long now = System.nanoTime();
+        for (int i = 0; i < batch.size(); i++) {
+            waitTimer.record(now - batch.get(i).enqueuedAt(), TimeUnit.NANOSECONDS);
+            batch.get(i).result().complete(saved.get(i));
+        }
+    }
+
+    private List<Task> insert(List<PendingTask> batch) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(Math.max(batch.size(), 1));
+        List<Task> tasks = new ArrayList<>(batch.size());
+        Map<Integer, Long> createdPerUser = new HashMap<>();
+        Map<TaskStatusCountId, Long> createdPerStatus = new HashMap<>();
+        for (PendingTask pending : batch) {
+            Task task = pending.task().get();
+            entityManager.persist(task);
+            tasks.add(task);
+            createdPerUser.merge(task.getUser().getUserId(), 1L, Long::sum);
+            createdPerStatus.merge(new TaskStatusCountId(task.getUser().getUserId(), task.getStatus()), 1L, Long::sum);
+        }
+        entityManager.flush();
+        taskStatsService.apply(createdPerStatus);
+        AfterCommit.run(() -> createdPerUser.forEach(taskCountCache::adjust));
+        taskSearchService.indexAfterCommit(tasks);
+        return tasks;
+    }
+
+    private static void fail(List<PendingTask> batch, Throwable e) {
+        batch.forEach(pending -> pending.result().completeExceptionally(e));
+    }
+}
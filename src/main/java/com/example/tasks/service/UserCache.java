@@ -0,0 +1,207 @@
+package com.example.tasks.service;
+
+import com.example.tasks.config.ReplicaReads;
+import com.example.tasks.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of active users, addressable by id, username and email.
+ * Entries live in one Caffeine cache keyed by id; username and email are aliases
+ * pointing at that id, so all three keys always resolve to the same entry.
+ * Only active users are cached and misses are never cached.
+ * <p>
+ * Entries are immutable snapshots; each lookup returns a fresh detached {@link User}, so no
+ * caller or write transaction can change a cached row in place. A reader takes a
+ * {@link #stamp()} before loading and hands it to {@link #put(User, Stamp)}; a row loaded
+ * before the user's last invalidation, or read from a lagging replica, is not cached.
+ */
+@Slf4j
+@Component
+public class UserCache {
+    private final boolean enabled;
+    private final Cache<Integer, CachedUser> byId;
+    /** Generation of the last invalidation per user; kept for one TTL, longer than any load. */
+    private final Cache<Integer, Long> invalidatedAt;
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<String, Integer> idByUsername = new ConcurrentHashMap<>();
+    private final Map<String, Integer> idByEmail = new ConcurrentHashMap<>();
+    private final Map<String, Counter> hits = new ConcurrentHashMap<>();
+    private final Map<String, Counter> misses = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public UserCache(@Value("${tasks.user-cache.enabled:true}") boolean enabled,
+                     @Value("${tasks.user-cache.max-size:10000}") long maxSize,
+                     @Value("${tasks.user-cache.ttl-seconds:300}") long ttlSeconds,
+                     MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.meterRegistry = meterRegistry;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                // Runs atomically with size/TTL eviction; explicit removals clean up aliases themselves
+                .evictionListener((Integer id, CachedUser user, RemovalCause cause) -> {
+                    if (id != null && user != null) {
+                        removeAliases(id, user.username(), user.email());
+                    }
+                })
+                .build();
+        this.invalidatedAt = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        if (enabled) {
+            CaffeineCacheMetrics.monitor(meterRegistry, byId, "users");
+        }
+        log.info("User cache {} (max size {}, TTL {}s)", enabled ? "enabled" : "disabled", maxSize, ttlSeconds);
+    }
+
+    public Optional<User> getById(Integer id) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return record("id", byId.getIfPresent(id));
+    }
+
+    public Optional<User> getByUsername(String username) {
+        return getByAlias("username", idByUsername, username, CachedUser::username);
+    }
+
+    public Optional<User> getByEmail(String email) {
+        return getByAlias("email", idByEmail, email, CachedUser::email);
+    }
+
+    /**
+     * Taken before loading a user to cache; see {@link #put(User, Stamp)}.
+     */
+    public record Stamp(long generation, long replicaMark) {
+    }
+
+    public Stamp stamp() {
+        return new Stamp(generation.get(), ReplicaReads.mark());
+    }
+
+    /**
+     * Cache an active user under all three keys. Inactive users are ignored, as is a row
+     * loaded before the user was last invalidated ({@code stamp} older than the invalidation)
+     * or older than the cached version, so a slow reader cannot undo an eviction. Rows read
+     * from a replica are not cached either, since they may predate a committed change.
+     *
+     * @param stamp {@link #stamp()} taken before the user was loaded
+     */
+    public void put(User user, Stamp stamp) {
+        if (!enabled || user == null || !"Y".equals(user.getIsActive()) || ReplicaReads.since(stamp.replicaMark())) {
+            return;
+        }
+        CachedUser snapshot = CachedUser.of(user);
+        byId.asMap().compute(user.getUserId(), (id, previous) -> {
+            Long invalidated = invalidatedAt.getIfPresent(id);
+            if (invalidated != null && invalidated > stamp.generation()) {
+                return previous;
+            }
+            if (previous != null) {
+                if (isOlder(snapshot, previous)) {
+                    return previous;
+                }
+                removeAliases(id, previous.username(), previous.email());
+            }
+            idByUsername.put(snapshot.username(), id);
+            idByEmail.put(snapshot.email(), id);
+            return snapshot;
+        });
+    }
+
+    /**
+     * Drop a user and its aliases in one step, and reject rows loaded before this call.
+     * Call before the transaction that changes the user and again after it commits: a reader
+     * that loaded the old row in between then cannot cache it.
+     */
+    public void invalidate(User user) {
+        if (!enabled || user == null || user.getUserId() == null) {
+            return;
+        }
+        byId.asMap().compute(user.getUserId(), (id, previous) -> {
+            // Inside compute, so a concurrent put for this id sees the new generation
+            invalidatedAt.put(id, generation.incrementAndGet());
+            if (previous != null) {
+                removeAliases(id, previous.username(), previous.email());
+            }
+            removeAliases(id, user.getUsername(), user.getEmail());
+            return null;
+        });
+    }
+
+    private Optional<User> getByAlias(String keyType, Map<String, Integer> aliases, String key,
+                                      Function<CachedUser, String> keyOf) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Integer id = aliases.get(key);
+        CachedUser user = id != null ? byId.getIfPresent(id) : null;
+        // The alias may be stale if the entry was replaced; only trust it if the keys still match
+        if (user != null && !key.equals(keyOf.apply(user))) {
+            user = null;
+        }
+        return record(keyType, user);
+    }
+
+    private Optional<User> record(String keyType, CachedUser user) {
+        Map<String, Counter> counters = user != null ? hits : misses;
+        counters.computeIfAbsent(keyType, type -> Counter.builder("users.cache.lookups")
+                        .tag("key", type)
+                        .tag("result", user != null ? "hit" : "miss")
+                        .register(meterRegistry))
+                .increment();
+        return Optional.ofNullable(user).map(CachedUser::toUser);
+    }
+
+    private static boolean isOlder(CachedUser user, CachedUser than) {
+        return user.version() != null && than.version() != null && user.version() < than.version();
+    }
+
+    private void removeAliases(Integer id, String username, String email) {
+        if (username != null) {
+            idByUsername.remove(username, id);
+        }
+        if (email != null) {
+            idByEmail.remove(email, id);
+        }
+    }
+
+    /** The cached columns of a user, without its tasks. */
+    private record CachedUser(Integer userId, String username, String fullName, String email, String isActive,
+                              LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
+        static CachedUser of(User user) {
+            return new CachedUser(user.getUserId(), user.getUsername(), user.getFullName(), user.getEmail(),
+                    user.getIsActive(), user.getCreatedAt(), user.getUpdatedAt(), user.getVersion());
+        }
+
+        User toUser() {
+            return User.builder()
+                    .userId(userId)
+                    .username(username)
+                    .fullName(fullName)
+                    .email(email)
+                    .isActive(isActive)
+                    .createdAt(createdAt)
+                    .updatedAt(updatedAt)
+                    .version(version)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.tasks.service;
+
+import com.example.tasks.exception.InvalidRequestException;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for user listings, which always seek on {@code user_id}.
+ */
+@Value
+public class UserCursor {
+    private static final String PREFIX = "v1|user|";
+
+    Integer userId;
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + userId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static UserCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new InvalidRequestException("Invalid cursor");
+            }
+            return new UserCursor(Integer.valueOf(raw.substring(PREFIX.length())));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+}
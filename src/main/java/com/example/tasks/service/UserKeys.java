@@ -0,0 +1,18 @@
+package com.example.tasks.service;
+
+import java.util.Locale;
+
+/**
+ * Lookup key for a username or email. The database collation compares them without regard
+ * to case, and so must any in-memory matching against its results, or a "new" user that
+ * differs only in case fails on the unique constraint.
+ */
+final class UserKeys {
+
+    private UserKeys() {
+    }
+
+    static String of(String usernameOrEmail) {
+        return usernameOrEmail == null ? null : usernameOrEmail.toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,5 +1,9 @@
 package com.example.tasks.service;
 
+import com.example.tasks.dto.CursorPage;
+import com.example.tasks.dto.UserSummary;
+import com.example.tasks.exception.InvalidRequestException;
+import com.example.tasks.exception.PreconditionFailedException;
 import com.example.tasks.exception.ResourceAlreadyExistsException;
 import com.example.tasks.exception.ResourceNotFoundException;
 import com.example.tasks.exception.UserInactiveException;
@@ -7,32 +11,62 @@ import com.example.tasks.model.User;
 import com.example.tasks.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserService {
     private final UserRepository userRepo;
+    private final UserCache userCache;
 
+    @Value("${tasks.pagination.cursor.default-limit:20}")
+    private int defaultCursorLimit;
+
+    @Value("${tasks.pagination.cursor.max-limit:100}")
+    private int maxCursorLimit;
+
+    /**
+     * Create a user, or reactivate the soft-deleted user holding the username (checked first)
+     * or email. One lookup on {@code username OR email} resolves all cases, so a new user costs
+     * that lookup plus the insert. A concurrent create that slips past the lookup is rejected
+     * by the unique constraints and reported as {@link ResourceAlreadyExistsException}.
+     */
     @Transactional
     public User createUser(User user) {
         log.info("Creating user: {}", user.getUsername());
         
-        // Check for existing username (including soft-deleted users)
-        Optional<User> existingByUsername = userRepo.findByUsername(user.getUsername());
+        // The database's collation decided these match; compare the same way
+        List<User> matches = userRepo.findByUsernameOrEmail(user.getUsername(), user.getEmail());
+        Optional<User> existingByUsername = matches.stream()
+                .filter(existing -> existing.getUsername().equalsIgnoreCase(user.getUsername()))
+                .findFirst();
         if (existingByUsername.isPresent()) {
             User existingUser = existingByUsername.get();
             if ("N".equals(existingUser.getIsActive())) {
                 // Reactivate the soft-deleted user
+                evictOnCommit(existingUser);
                 existingUser.setIsActive("Y");
                 existingUser.setEmail(user.getEmail()); // Update email if changed
                 existingUser.setFullName(user.getFullName());
-                userRepo.save(existingUser);
+                flush(existingUser);
                 log.info("Reactivated soft-deleted user with username: {}", user.getUsername());
                 return existingUser;
             } else {
@@ -41,16 +75,18 @@ public class UserService {
             }
         }
         
-        // Check for existing email (including soft-deleted users)
-        Optional<User> existingByEmail = userRepo.findByEmail(user.getEmail());
+        Optional<User> existingByEmail = matches.stream()
+                .filter(existing -> existing.getEmail().equalsIgnoreCase(user.getEmail()))
+                .findFirst();
         if (existingByEmail.isPresent()) {
             User existingUser = existingByEmail.get();
             if ("N".equals(existingUser.getIsActive())) {
                 // Reactivate the soft-deleted user
+                evictOnCommit(existingUser);
                 existingUser.setIsActive("Y");
                 existingUser.setUsername(user.getUsername());
                 existingUser.setFullName(user.getFullName());
-                userRepo.save(existingUser);
+                flush(existingUser);
                 log.info("Reactivated soft-deleted user with email: {}", user.getEmail());
                 return existingUser;
             } else {
@@ -61,44 +97,131 @@ public class UserService {
         
         // Set default active status for new users
         user.setIsActive("Y");
-        User savedUser = userRepo.save(user);
+        User savedUser = flush(user);
         log.info("User created successfully with ID: {}", savedUser.getUserId());
         return savedUser;
     }
 
     @Transactional(readOnly = true)
-    public List<User> getAllUsers(boolean includeInactive) {
+    public Page<UserSummary> getAllUsers(boolean includeInactive, Pageable pageable) {
+        for (Sort.Order order : pageable.getSort()) {
+            if (!"userId".equals(order.getProperty())) {
+                throw new InvalidRequestException("Unsupported sort key '" + order.getProperty() + "', allowed: [userId]");
+            }
+        }
         if (includeInactive) {
             log.debug("Fetching all users including inactive ones");
-            return userRepo.findAll();
+            return userRepo.findAllSummaries(pageable);
         } else {
             log.debug("Fetching only active users");
-            List<User> users = userRepo.findByIsActive("Y");
-            log.debug("Successfully retrieved {} active users", users.size());
+            Page<UserSummary> users = userRepo.findActiveSummaries(pageable);
+            log.debug("Successfully retrieved {} active users", users.getNumberOfElements());
             return users;
         }
     }
 
+    /**
+     * Keyset pagination over users in {@code user_id} order.
+     *
+     * @param includeInactive Whether soft-deleted users are included
+     * @param after           Cursor returned by the previous page, or blank for the first page
+     * @param limit           Page size, capped at the configured maximum
+     * @return Page of users with the cursor for the next page
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<UserSummary> getUsersAfter(boolean includeInactive, String after, Integer limit) {
+        if (limit != null && limit < 1) {
+            throw new InvalidRequestException("limit must be at least 1");
+        }
+        int size = limit == null ? defaultCursorLimit : Math.min(limit, maxCursorLimit);
+        int afterId = after == null || after.isBlank() ? 0 : UserCursor.decode(after).getUserId();
+        log.debug("Fetching users after ID: {}", afterId);
+
+        // Fetch one extra row to learn whether another page follows
+        Pageable window = PageRequest.of(0, size + 1);
+        List<UserSummary> users = includeInactive
+                ? userRepo.findSummariesAfter(afterId, window)
+                : userRepo.findActiveSummariesAfter(afterId, window);
+
+        boolean hasNext = users.size() > size;
+        if (hasNext) {
+            users = users.subList(0, size);
+        }
+        String nextCursor = hasNext ? new UserCursor(users.get(users.size() - 1).getUserId()).encode() : null;
+        return new CursorPage<>(users, size, nextCursor, hasNext);
+    }
+
     @Transactional(readOnly = true)
     public User getUserById(Integer id) {
         log.debug("Fetching active user by ID: {}", id);
+        Optional<User> cached = userCache.getById(id);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        UserCache.Stamp stamp = userCache.stamp();
         User user = userRepo.findByUserIdAndIsActive(id, "Y")
                 .orElseThrow(() -> {
                     log.error("Active user not found with ID: {}", id);
                     return new ResourceNotFoundException("User", "id", id);
                 });
+        userCache.put(user, stamp);
         log.debug("Retrieved active user with ID: {}", id);
         return user;
     }
 
+    /**
+     * Version of an active user, from the cache or a single-column query, so a
+     * conditional GET can be answered without loading and serializing the user.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> getUserVersion(Integer id) {
+        Optional<User> cached = userCache.getById(id);
+        if (cached.isPresent()) {
+            return Optional.of(cached.get().getVersion());
+        }
+        return userRepo.findActiveVersion(id);
+    }
+
+    /**
+     * Resolve many active users with a single query.
+     *
+     * @param ids User IDs to look up
+     * @return Active users keyed by ID; unknown or inactive IDs are absent
+     */
+    @Transactional(readOnly = true)
+    public Map<Integer, User> getActiveUsersByIds(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        log.debug("Fetching {} active users by ID", ids.size());
+        Map<Integer, User> users = new HashMap<>();
+        List<Integer> missing = new ArrayList<>();
+        for (Integer id : ids) {
+            userCache.getById(id).ifPresentOrElse(user -> users.put(id, user), () -> missing.add(id));
+        }
+        if (!missing.isEmpty()) {
+            UserCache.Stamp stamp = userCache.stamp();
+            List<User> loaded = userRepo.findByUserIdInAndIsActive(missing, "Y");
+            loaded.forEach(user -> userCache.put(user, stamp));
+            users.putAll(loaded.stream().collect(Collectors.toMap(User::getUserId, Function.identity())));
+        }
+        return users;
+    }
+
     @Transactional(readOnly = true)
     public User getUserByUsername(String username) {
         log.debug("Fetching active user by username: {}", username);
+        Optional<User> cached = userCache.getByUsername(username);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        UserCache.Stamp stamp = userCache.stamp();
         User user = userRepo.findByUsernameAndIsActive(username, "Y")
                 .orElseThrow(() -> {
                     log.error("Active user not found with username: {}", username);
                     return new ResourceNotFoundException("User", "username", username);
                 });
+        userCache.put(user, stamp);
         log.debug("Retrieved active user with username: {}", username);
         return user;
     }
@@ -106,42 +229,48 @@ public class UserService {
     @Transactional(readOnly = true)
     public User getUserByEmail(String email) {
         log.debug("Fetching active user by email: {}", email);
+        Optional<User> cached = userCache.getByEmail(email);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        UserCache.Stamp stamp = userCache.stamp();
         User user = userRepo.findByEmailAndIsActive(email, "Y")
                 .orElseThrow(() -> {
                     log.error("Active user not found with email: {}", email);
                     return new ResourceNotFoundException("User", "email", email);
                 });
+        userCache.put(user, stamp);
         log.debug("Retrieved active user with email: {}", email);
         return user;
     }
 
+    /**
+     * Update a user with one read and one write. A username or email taken by another user,
+     * active or not, is detected by the unique constraints instead of separate lookups.
+     *
+     * @param expectedVersion The client's {@code If-Match} version, or {@code null} to update any version
+     */
     @Transactional
-    public User updateUserById(Integer id, User updatedUser) {
+    public User updateUserById(Integer id, User updatedUser, Long expectedVersion) {
         log.info("Updating user ID: {}", id);
         
         // 1. Find existing user
         User existingUser = userRepo.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
-        
-        // 2. Check for duplicate username (if username is being updated)
-        if (!existingUser.getUsername().equals(updatedUser.getUsername()) && 
-            userRepo.existsByUsername(updatedUser.getUsername())) {
-            throw new ResourceAlreadyExistsException("User", "username", updatedUser.getUsername());
+        if (expectedVersion != null && !expectedVersion.equals(existingUser.getVersion())) {
+            throw new PreconditionFailedException("User", id, expectedVersion, existingUser.getVersion());
         }
         
-        // 3. Check for duplicate email (if email is being updated)
-        if (!existingUser.getEmail().equals(updatedUser.getEmail()) && 
-            userRepo.existsByEmail(updatedUser.getEmail())) {
-            throw new ResourceAlreadyExistsException("User", "email", updatedUser.getEmail());
-        }
-        
-        // 4. Update only the allowed fields
+        // 2. Drop cached copies under the old keys
+        evictOnCommit(existingUser);
+
+        // 3. Update only the allowed fields
         existingUser.setUsername(updatedUser.getUsername());
         existingUser.setEmail(updatedUser.getEmail());
         existingUser.setFullName(updatedUser.getFullName());
         
-        // 5. Save and return
-        return userRepo.save(existingUser);
+        // 4. Save, flushing so duplicates and version conflicts are raised here rather than at commit
+        return flush(existingUser);
     }
 
     @Transactional
@@ -162,10 +291,61 @@ public class UserService {
         // Soft delete by setting isActive to 'N'
         user.setIsActive("N");
         userRepo.save(user);
+        evictOnCommit(user);
         log.info("User soft deleted successfully, ID: {}", id);
     }
 
     public boolean existsById(Integer id) {
-        return userRepo.findByUserIdAndIsActive(id, "Y").isPresent();
+        if (userCache.getById(id).isPresent()) {
+            return true;
+        }
+        UserCache.Stamp stamp = userCache.stamp();
+        Optional<User> user = userRepo.findByUserIdAndIsActive(id, "Y");
+        user.ifPresent(found -> userCache.put(found, stamp));
+        return user.isPresent();
+    }
+
+    /**
+     * Save and flush, translating a violation of {@code UK_users_username} or {@code UK_users_email}
+     * into the conflicting field. Every other integrity violation is rethrown as it is.
+     */
+    private User flush(User user) {
+        try {
+            return userRepo.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            // The constraint name identifies the column; anything else is not a duplicate we can attribute
+            String violation = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+            if (violation.contains(User.USERNAME_CONSTRAINT.toLowerCase(Locale.ROOT))) {
+                throw usernameTaken(user);
+            }
+            if (violation.contains(User.EMAIL_CONSTRAINT.toLowerCase(Locale.ROOT))) {
+                throw emailTaken(user);
+            }
+            throw e;
+        }
+    }
+
+    private static ResourceAlreadyExistsException emailTaken(User user) {
+        log.warn("Email already in use: {}", user.getEmail());
+        return new ResourceAlreadyExistsException("User", "email", user.getEmail());
+    }
+
+    private static ResourceAlreadyExistsException usernameTaken(User user) {
+        log.warn("Username already in use: {}", user.getUsername());
+        return new ResourceAlreadyExistsException("User", "username", user.getUsername());
+    }
+
+    /**
+     * Evict a user now and again after commit, so a concurrent reader cannot
+     * re-cache the pre-update row while the transaction is still open.
+     */
+    private void evictOnCommit(User user) {
+        User snapshot = User.builder()
+                .userId(user.getUserId())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .build();
+        userCache.invalidate(snapshot);
+        AfterCommit.run(() -> userCache.invalidate(snapshot));
     }
 }
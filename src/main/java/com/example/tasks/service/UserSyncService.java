@@ -0,0 +1,224 @@
+package com.example.tasks.service;
+
+import com.example.tasks.dto.ExternalUserDto;
+import com.example.tasks.dto.UserSyncReport;
+import com.example.tasks.exception.InvalidRequestException;
+import com.example.tasks.model.User;
+import com.example.tasks.repository.UserRepository;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Synchronizes users from the external API into {@code Tasks.users}.
+ * External users are matched by username, then by email. Each chunk is resolved with one
+ * IN query and written in one transaction: new users are batch-inserted, changed users
+ * updated and soft-deleted matches reactivated. Local users missing upstream are left as they are.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserSyncService {
+    private final ExternalApiService externalApiService;
+    private final UserRepository userRepo;
+    private final UserCache userCache;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${tasks.user-sync.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${tasks.user-sync.max-errors:100}")
+    private int maxErrors;
+
+    @Value("${tasks.user-sync.schedule-enabled:false}")
+    private boolean scheduleEnabled;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public UserSyncReport syncExternalUsers() {
+        if (!running.compareAndSet(false, true)) {
+            throw new InvalidRequestException("A user sync is already running");
+        }
+        try {
+            return sync(externalApiService.getExternalUsers());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.user-sync.interval-ms:3600000}",
+               initialDelayString = "${tasks.user-sync.interval-ms:3600000}")
+    public void syncPeriodically() {
+        if (!scheduleEnabled) {
+            return;
+        }
+        try {
+            syncExternalUsers();
+        } catch (RuntimeException e) {
+            log.warn("Scheduled user sync failed: {}", e.getMessage());
+        }
+    }
+
+    private UserSyncReport sync(List<ExternalUserDto> externalUsers) {
+        log.info("Synchronizing {} external users", externalUsers.size());
+        UserSyncReport report = new UserSyncReport();
+        long start = System.nanoTime();
+
+        // 1. Validate and drop keys repeated upstream (ignoring case, like the collation) before touching the database
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        List<SyncRecord> records = new ArrayList<>(externalUsers.size());
+        for (ExternalUserDto external : externalUsers) {
+            report.setReceived(report.getReceived() + 1);
+            User user = User.builder()
+                    .username(external.getUsername())
+                    .fullName(external.getName())
+                    .email(external.getEmail())
+                    .build();
+            String violation = Violations.firstViolation(validator, user);
+            if (violation != null) {
+                fail(report, external, violation);
+            } else if (!usernames.add(UserKeys.of(user.getUsername()))) {
+                fail(report, external, "Duplicate username upstream: " + user.getUsername());
+            } else if (!emails.add(UserKeys.of(user.getEmail()))) {
+                fail(report, external, "Duplicate email upstream: " + user.getEmail());
+            } else {
+                records.add(new SyncRecord(external, user));
+            }
+        }
+
+        // 2. Apply in bounded transactions
+        for (int i = 0; i < records.size(); i += chunkSize) {
+            List<SyncRecord> chunk = records.subList(i, Math.min(i + chunkSize, records.size()));
+            try {
+                applyChunk(chunk, report);
+            } catch (DataAccessException e) {
+                log.error("User sync chunk rolled back: {}", e.getMessage());
+                chunk.forEach(record -> fail(report, record.external(),
+                        "Chunk rolled back: " + e.getMostSpecificCause().getMessage()));
+            }
+            report.setChunks(report.getChunks() + 1);
+        }
+
+        report.setDurationMs((System.nanoTime() - start) / 1_000_000);
+        log.info("User sync finished: {} received, {} created, {} updated, {} reactivated, {} unchanged, "
+                        + "{} failed in {} ms",
+                report.getReceived(), report.getCreated(), report.getUpdated(), report.getReactivated(),
+                report.getUnchanged(), report.getFailed(), report.getDurationMs());
+        return report;
+    }
+
+    private void applyChunk(List<SyncRecord> chunk, UserSyncReport report) {
+        List<String> usernames = new ArrayList<>(chunk.size());
+        List<String> emails = new ArrayList<>(chunk.size());
+        chunk.forEach(record -> {
+            usernames.add(record.user().getUsername());
+            emails.add(record.user().getEmail());
+        });
+
+        ChunkOutcome outcome = transactionTemplate.execute(status -> {
+            ChunkOutcome result = new ChunkOutcome();
+            Map<String, User> byUsername = new HashMap<>();
+            Map<String, User> byEmail = new HashMap<>();
+            for (User existing : userRepo.findByUsernameInOrEmailIn(usernames, emails)) {
+                byUsername.put(UserKeys.of(existing.getUsername()), existing);
+                byEmail.put(UserKeys.of(existing.getEmail()), existing);
+            }
+
+            Set<Integer> claimed = new HashSet<>();
+            List<User> inserts = new ArrayList<>();
+            for (SyncRecord record : chunk) {
+                User incoming = record.user();
+                User byName = byUsername.get(UserKeys.of(incoming.getUsername()));
+                User byMail = byEmail.get(UserKeys.of(incoming.getEmail()));
+                User target = byName != null ? byName : byMail;
+
+                if (byName != null && byMail != null && !byName.getUserId().equals(byMail.getUserId())) {
+                    result.errors.add(new UserSyncReport.SyncError(record.external().getId(), incoming.getUsername(),
+                            "Email already used by another user: '" + incoming.getEmail() + "'"));
+                } else if (target == null) {
+                    incoming.setIsActive("Y");
+                    inserts.add(incoming);
+                } else if (!claimed.add(target.getUserId())) {
+                    result.errors.add(new UserSyncReport.SyncError(record.external().getId(), incoming.getUsername(),
+                            "Matches a user already synchronized from another external user"));
+                } else if (!"Y".equals(target.getIsActive())) {
+                    copyFields(incoming, target);
+                    target.setIsActive("Y");
+                    result.changed.add(target);
+                    result.reactivated++;
+                } else if (!sameFields(incoming, target)) {
+                    // Evict the old aliases now; dirty checking batches the updates at commit
+                    userCache.invalidate(target);
+                    copyFields(incoming, target);
+                    result.changed.add(target);
+                    result.updated++;
+                } else {
+                    result.unchanged++;
+                }
+            }
+
+            userRepo.saveAll(inserts);
+            result.created = inserts.size();
+            return result;
+        });
+
+        // Only committed changes reach the report and the cache
+        outcome.changed.forEach(userCache::invalidate);
+        report.setCreated(report.getCreated() + outcome.created);
+        report.setUpdated(report.getUpdated() + outcome.updated);
+        report.setReactivated(report.getReactivated() + outcome.reactivated);
+        report.setUnchanged(report.getUnchanged() + outcome.unchanged);
+        outcome.errors.forEach(error -> fail(report, error));
+    }
+
+    private static boolean sameFields(User incoming, User existing) {
+        return Objects.equals(incoming.getUsername(), existing.getUsername())
+                && Objects.equals(incoming.getEmail(), existing.getEmail())
+                && Objects.equals(incoming.getFullName(), existing.getFullName());
+    }
+
+    private static void copyFields(User from, User to) {
+        to.setUsername(from.getUsername());
+        to.setEmail(from.getEmail());
+        to.setFullName(from.getFullName());
+    }
+
+    private void fail(UserSyncReport report, ExternalUserDto external, String message) {
+        fail(report, new UserSyncReport.SyncError(external.getId(), external.getUsername(), message));
+    }
+
+    private void fail(UserSyncReport report, UserSyncReport.SyncError error) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < maxErrors) {
+            report.getErrors().add(error);
+        }
+    }
+
+    private record SyncRecord(ExternalUserDto external, User user) {
+    }
+
+    private static final class ChunkOutcome {
+        private final List<User> changed = new ArrayList<>();
+        private final List<UserSyncReport.SyncError> errors = new ArrayList<>();
+        private int created;
+        private int updated;
+        private int reactivated;
+        private int unchanged;
+    }
+}
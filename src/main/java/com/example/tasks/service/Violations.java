@@ -0,0 +1,28 @@
+package com.example.tasks.service;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Bean validation for items that arrive in bulk and are reported one by one
+ * instead of failing the whole request.
+ */
+final class Violations {
+
+    private Violations() {
+    }
+
+    /**
+     * @return The first violation formatted as {@code field: message}, or null if the object is valid
+     */
+    static <T> String firstViolation(Validator validator, T object) {
+        return validator.validate(object).stream()
+                .map(Violations::format)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static String format(ConstraintViolation<?> violation) {
+        return String.format("%s: %s", violation.getPropertyPath(), violation.getMessage());
+    }
+}
@@ -0,0 +1,37 @@
+-- Baseline: the schema as it stood when migrations were introduced.
+-- Databases created earlier by Hibernate are baselined at this version (spring.flyway.baseline-on-migrate)
+-- and must already match it, including the version columns and the constraint names.
+
+-- Ids come from pooled sequences; INCREMENT BY must match allocationSize (50) on the entities
+CREATE SEQUENCE Tasks.user_seq AS INT START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE Tasks.task_seq AS INT START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE Tasks.users (
+    user_id INT NOT NULL CONSTRAINT PK_users PRIMARY KEY DEFAULT NEXT VALUE FOR Tasks.user_seq,
+    username NVARCHAR(50) NOT NULL CONSTRAINT UK_users_username UNIQUE,
+    full_name NVARCHAR(100) NOT NULL,
+    email NVARCHAR(100) NOT NULL CONSTRAINT UK_users_email UNIQUE,
+    is_active CHAR(1),
+    created_at DATETIME2(6),
+    updated_at DATETIME2(6),
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE TABLE Tasks.tasks (
+    task_id INT NOT NULL CONSTRAINT PK_tasks PRIMARY KEY DEFAULT NEXT VALUE FOR Tasks.task_seq,
+    title NVARCHAR(100) NOT NULL,
+    description NVARCHAR(500),
+    status NVARCHAR(20),
+    user_id INT NOT NULL,
+    created_at DATETIME2(6),
+    updated_at DATETIME2(6),
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT FK_tasks_users FOREIGN KEY (user_id) REFERENCES Tasks.users (user_id)
+);
+
+CREATE TABLE Tasks.task_status_counts (
+    user_id INT NOT NULL,
+    status NVARCHAR(20) NOT NULL,
+    task_count BIGINT NOT NULL,
+    CONSTRAINT PK_task_status_counts PRIMARY KEY (user_id, status)
+);
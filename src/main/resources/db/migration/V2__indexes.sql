@@ -0,0 +1,19 @@
+-- Indexes for the access paths of TaskRepository and UserRepository.
+-- Primary keys already cover lookups by task_id / user_id and the unique constraints cover
+-- lookups by username / email (active or not).
+
+-- Per-user pages, keyset pages and the FK: seek on user_id, rows already in task_id order.
+-- updated_at is included so the page ETag query (count, max(updated_at)) reads only this index.
+CREATE INDEX IX_tasks_user_id_task_id ON Tasks.tasks (user_id, task_id) INCLUDE (updated_at);
+
+-- Status counters: GROUP BY user_id, status for a batch of users, and exports by user and status
+CREATE INDEX IX_tasks_user_id_status ON Tasks.tasks (user_id, status);
+
+-- Global pages and keyset pages ordered by (updated_at, task_id)
+CREATE INDEX IX_tasks_updated_at ON Tasks.tasks (updated_at, task_id);
+
+-- Active users only: pages and keyset pages in user_id order, covering the UserSummary columns.
+-- Only used by queries that compare is_active with the literal 'Y', not with a parameter.
+CREATE INDEX IX_users_active ON Tasks.users (user_id)
+    INCLUDE (username, full_name, email, created_at, updated_at)
+    WHERE is_active = 'Y';
@@ -0,0 +1,3 @@
+-- Bulk status transitions and archival: seek on status, walk task_id in keyset chunks
+-- and filter on updated_at without touching the table
+CREATE INDEX IX_tasks_status_task_id ON Tasks.tasks (status, task_id) INCLUDE (updated_at);
@@ -0,0 +1,18 @@
+-- Tasks of long-deactivated users, moved out of Tasks.tasks by the retention purger
+-- (tasks.retention.mode=archive). No foreign key to users, so owners can be purged later.
+CREATE TABLE Tasks.tasks_archive (
+    task_id INT NOT NULL CONSTRAINT PK_tasks_archive PRIMARY KEY,
+    title NVARCHAR(200) NOT NULL,
+    description NVARCHAR(2000),
+    status NVARCHAR(20),
+    user_id INT NOT NULL,
+    created_at DATETIME2(6),
+    updated_at DATETIME2(6),
+    archived_at DATETIME2(6) NOT NULL
+);
+
+CREATE INDEX IX_tasks_archive_user_id ON Tasks.tasks_archive (user_id);
+
+-- Deactivated users in user_id order with their deactivation time (updated_at), for finding
+-- those past the retention period; like IX_users_active, only used with the literal 'N'
+CREATE INDEX IX_users_inactive ON Tasks.users (user_id) INCLUDE (updated_at) WHERE is_active = 'N';
@@ -0,0 +1,13 @@
+-- Task title and description as long as the entities and request validation allow (200 / 2000).
+-- V1 created them as NVARCHAR(100) / NVARCHAR(500); databases baselined at V1 from the
+-- Hibernate-created schema may still have description as TEXT, which is deprecated.
+-- Columns already longer (or MAX) are left alone.
+IF EXISTS (SELECT 1 FROM INFORMATION_SCHEMA.COLUMNS
+           WHERE TABLE_SCHEMA = 'Tasks' AND TABLE_NAME = 'tasks' AND COLUMN_NAME = 'description'
+             AND (DATA_TYPE IN ('text', 'ntext') OR CHARACTER_MAXIMUM_LENGTH BETWEEN 1 AND 1999))
+    ALTER TABLE Tasks.tasks ALTER COLUMN description NVARCHAR(2000) NULL;
+
+IF EXISTS (SELECT 1 FROM INFORMATION_SCHEMA.COLUMNS
+           WHERE TABLE_SCHEMA = 'Tasks' AND TABLE_NAME = 'tasks' AND COLUMN_NAME = 'title'
+             AND (DATA_TYPE IN ('text', 'ntext') OR CHARACTER_MAXIMUM_LENGTH BETWEEN 1 AND 199))
+    ALTER TABLE Tasks.tasks ALTER COLUMN title NVARCHAR(200) NOT NULL;
@@ -0,0 +1,143 @@
+-- Brings a database that Hibernate created before the migrations existed (baselined at V1 by
+-- spring.flyway.baseline-on-migrate) up to what V1 to V5 create. Every step checks first, so on a
+-- database created by V1 nothing changes.
+
+-- Status counters; schemas from before them lack the table (the reconcile job fills it)
+IF OBJECT_ID('Tasks.task_status_counts', 'U') IS NULL
+    CREATE TABLE Tasks.task_status_counts (
+        user_id INT NOT NULL,
+        status NVARCHAR(20) NOT NULL,
+        task_count BIGINT NOT NULL,
+        CONSTRAINT PK_task_status_counts PRIMARY KEY (user_id, status)
+    );
+
+-- Optimistic lock columns
+IF COL_LENGTH('Tasks.users', 'version') IS NULL
+    ALTER TABLE Tasks.users ADD version BIGINT NOT NULL DEFAULT 0;
+
+IF COL_LENGTH('Tasks.tasks', 'version') IS NULL
+    ALTER TABLE Tasks.tasks ADD version BIGINT NOT NULL DEFAULT 0;
+GO
+
+-- Id sequences. A legacy database has none, or the ones ddl-auto=update created starting at 1,
+-- below the existing ids. The pooled optimizer hands out the 50 ids up to each value it fetches,
+-- so a new or restarted sequence continues at MAX(id) + 50.
+DECLARE @next INT;
+DECLARE @sql NVARCHAR(200);
+
+SELECT @next = ISNULL(MAX(user_id), 0) + 50 FROM Tasks.users;
+IF OBJECT_ID('Tasks.user_seq', 'SO') IS NULL
+    SET @sql = N'CREATE SEQUENCE Tasks.user_seq AS INT START WITH ' + CAST(@next AS NVARCHAR(11)) + N' INCREMENT BY 50';
+ELSE IF (SELECT CAST(current_value AS BIGINT) FROM sys.sequences WHERE object_id = OBJECT_ID('Tasks.user_seq')) < @next - 50
+    SET @sql = N'ALTER SEQUENCE Tasks.user_seq RESTART WITH ' + CAST(@next AS NVARCHAR(11));
+IF @sql IS NOT NULL
+    EXEC (@sql);
+
+SET @sql = NULL;
+SELECT @next = ISNULL(MAX(task_id), 0) + 50 FROM Tasks.tasks;
+IF OBJECT_ID('Tasks.task_seq', 'SO') IS NULL
+    SET @sql = N'CREATE SEQUENCE Tasks.task_seq AS INT START WITH ' + CAST(@next AS NVARCHAR(11)) + N' INCREMENT BY 50';
+ELSE IF (SELECT CAST(current_value AS BIGINT) FROM sys.sequences WHERE object_id = OBJECT_ID('Tasks.task_seq')) < @next - 50
+    SET @sql = N'ALTER SEQUENCE Tasks.task_seq RESTART WITH ' + CAST(@next AS NVARCHAR(11));
+IF @sql IS NOT NULL
+    EXEC (@sql);
+GO
+
+-- Hibernate inserts ids from the sequences, which an IDENTITY column rejects. SQL Server cannot
+-- drop the property, so such a table is rebuilt with V1's definition (V5's text sizes) and its
+-- rows copied, keeping their ids; the indexes of V2 to V4 and the foreign key are recreated.
+IF COLUMNPROPERTY(OBJECT_ID('Tasks.users'), 'user_id', 'IsIdentity') = 1
+BEGIN
+    DECLARE @drop NVARCHAR(MAX) = N'';
+    SELECT @drop += N'ALTER TABLE ' + QUOTENAME(OBJECT_SCHEMA_NAME(parent_object_id)) + N'.'
+            + QUOTENAME(OBJECT_NAME(parent_object_id)) + N' DROP CONSTRAINT ' + QUOTENAME(name) + N'; '
+        FROM sys.foreign_keys WHERE referenced_object_id = OBJECT_ID('Tasks.users');
+    SELECT @drop += N'ALTER TABLE Tasks.users DROP CONSTRAINT ' + QUOTENAME(name) + N'; '
+        FROM sys.key_constraints WHERE parent_object_id = OBJECT_ID('Tasks.users');
+    EXEC (@drop);
+
+    CREATE TABLE Tasks.users_rebuilt (
+        user_id INT NOT NULL CONSTRAINT PK_users PRIMARY KEY DEFAULT NEXT VALUE FOR Tasks.user_seq,
+        username NVARCHAR(50) NOT NULL CONSTRAINT UK_users_username UNIQUE,
+        full_name NVARCHAR(100) NOT NULL,
+        email NVARCHAR(100) NOT NULL CONSTRAINT UK_users_email UNIQUE,
+        is_active CHAR(1),
+        created_at DATETIME2(6),
+        updated_at DATETIME2(6),
+        version BIGINT NOT NULL DEFAULT 0
+    );
+    INSERT INTO Tasks.users_rebuilt (user_id, username, full_name, email, is_active, created_at, updated_at, version)
+        SELECT user_id, username, full_name, email, is_active, created_at, updated_at, version FROM Tasks.users;
+    DROP TABLE Tasks.users;
+    EXEC sp_rename 'Tasks.users_rebuilt', 'users';
+
+    CREATE INDEX IX_users_active ON Tasks.users (user_id)
+        INCLUDE (username, full_name, email, created_at, updated_at)
+        WHERE is_active = 'Y';
+    CREATE INDEX IX_users_inactive ON Tasks.users (user_id) INCLUDE (updated_at) WHERE is_active = 'N';
+END
+GO
+
+IF COLUMNPROPERTY(OBJECT_ID('Tasks.tasks'), 'task_id', 'IsIdentity') = 1
+BEGIN
+    DECLARE @drop NVARCHAR(MAX) = N'';
+    SELECT @drop += N'ALTER TABLE Tasks.tasks DROP CONSTRAINT ' + QUOTENAME(name) + N'; '
+        FROM sys.foreign_keys WHERE parent_object_id = OBJECT_ID('Tasks.tasks');
+    SELECT @drop += N'ALTER TABLE Tasks.tasks DROP CONSTRAINT ' + QUOTENAME(name) + N'; '
+        FROM sys.key_constraints WHERE parent_object_id = OBJECT_ID('Tasks.tasks');
+    EXEC (@drop);
+
+    CREATE TABLE Tasks.tasks_rebuilt (
+        task_id INT NOT NULL CONSTRAINT PK_tasks PRIMARY KEY DEFAULT NEXT VALUE FOR Tasks.task_seq,
+        title NVARCHAR(200) NOT NULL,
+        description NVARCHAR(2000),
+        status NVARCHAR(20),
+        user_id INT NOT NULL,
+        created_at DATETIME2(6),
+        updated_at DATETIME2(6),
+        version BIGINT NOT NULL DEFAULT 0
+    );
+    INSERT INTO Tasks.tasks_rebuilt (task_id, title, description, status, user_id, created_at, updated_at, version)
+        SELECT task_id, title, description, status, user_id, created_at, updated_at, version FROM Tasks.tasks;
+    DROP TABLE Tasks.tasks;
+    EXEC sp_rename 'Tasks.tasks_rebuilt', 'tasks';
+
+    CREATE INDEX IX_tasks_user_id_task_id ON Tasks.tasks (user_id, task_id) INCLUDE (updated_at);
+    CREATE INDEX IX_tasks_user_id_status ON Tasks.tasks (user_id, status);
+    CREATE INDEX IX_tasks_updated_at ON Tasks.tasks (updated_at, task_id);
+    CREATE INDEX IX_tasks_status_task_id ON Tasks.tasks (status, task_id) INCLUDE (updated_at);
+END
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.foreign_keys
+               WHERE parent_object_id = OBJECT_ID('Tasks.tasks') AND referenced_object_id = OBJECT_ID('Tasks.users'))
+    ALTER TABLE Tasks.tasks ADD CONSTRAINT FK_tasks_users FOREIGN KEY (user_id) REFERENCES Tasks.users (user_id);
+GO
+
+-- UserService tells a duplicate username from a duplicate email by these constraint names; Hibernate
+-- generated random ones, and may have created two per column (unique = true and @UniqueConstraint).
+-- One per column is kept and renamed, the others dropped, and a missing one is added.
+DECLARE @keys TABLE (column_name SYSNAME, constraint_name SYSNAME, n INT);
+INSERT INTO @keys (column_name, constraint_name, n)
+    SELECT c.name, kc.name,
+           ROW_NUMBER() OVER (PARTITION BY c.name
+                              ORDER BY CASE WHEN kc.name = N'UK_users_' + c.name THEN 0 ELSE 1 END, kc.name)
+    FROM sys.key_constraints kc
+    JOIN sys.index_columns ic ON ic.object_id = kc.parent_object_id AND ic.index_id = kc.unique_index_id
+    JOIN sys.columns c ON c.object_id = ic.object_id AND c.column_id = ic.column_id
+    WHERE kc.parent_object_id = OBJECT_ID('Tasks.users') AND kc.type = 'UQ' AND c.name IN (N'username', N'email')
+      AND (SELECT COUNT(*) FROM sys.index_columns x
+           WHERE x.object_id = kc.parent_object_id AND x.index_id = kc.unique_index_id) = 1;
+
+DECLARE @sql NVARCHAR(MAX) = N'';
+SELECT @sql += N'ALTER TABLE Tasks.users DROP CONSTRAINT ' + QUOTENAME(constraint_name) + N'; '
+    FROM @keys WHERE n > 1;
+SELECT @sql += N'EXEC sp_rename ' + QUOTENAME(N'Tasks.' + QUOTENAME(constraint_name), '''')
+        + N', N''UK_users_' + column_name + N''', ''OBJECT''; '
+    FROM @keys WHERE n = 1 AND constraint_name <> N'UK_users_' + column_name;
+SELECT @sql += N'ALTER TABLE Tasks.users ADD CONSTRAINT ' + QUOTENAME(N'UK_users_' + k.column_name)
+        + N' UNIQUE (' + QUOTENAME(k.column_name) + N'); '
+    FROM (VALUES (N'username'), (N'email')) AS k (column_name)
+    WHERE NOT EXISTS (SELECT 1 FROM @keys WHERE column_name = k.column_name);
+IF @sql <> N''
+    EXEC (@sql);
@@ -0,0 +1,28 @@
+package com.example.tasks.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Statement budgets for tests: runs a block under a {@link QueryCounter} scope and fails when it
+ * executes more statements than allowed, e.g. because a relation is loaded once per row.
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    public static <T> T expectAtMost(int maxStatements, Supplier<T> action) {
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            T result = action.get();
+            QueryCounter.Counts counts = scope.snapshot();
+            if (counts.getStatements() > maxStatements) {
+                throw new AssertionError("Expected at most " + maxStatements + " statements but executed " + counts);
+            }
+            return result;
+        }
+    }
+
+    public static long statements(Runnable action) {
+        return QueryCounter.capture(action).getStatements();
+    }
+}
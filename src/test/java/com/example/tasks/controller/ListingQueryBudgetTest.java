@@ -0,0 +1,169 @@
+package com.example.tasks.controller;
+
+import com.example.tasks.config.QueryCounter;
+import com.example.tasks.dto.CreateTaskRequest;
+import com.example.tasks.model.User;
+import com.example.tasks.service.TaskService;
+import com.example.tasks.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement budgets for the listing endpoints, measured over the whole request (filters,
+ * serialization and streamed bodies included). The counts must not grow with the page size.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"local", "test"})
+class ListingQueryBudgetTest {
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    private Integer userId;
+
+    @BeforeEach
+    void createUserWithTasks() {
+        userId = newUser();
+        taskService.createTasks(requests(userId, 60));
+        // More users with tasks than the larger user and stats pages hold, so every page has a total to count
+        for (int i = 0; i < 10; i++) {
+            taskService.createTasks(requests(newUser(), 1));
+        }
+        // Compare warm paths: the first lookup of the user fills the user cache
+        userService.existsById(userId);
+    }
+
+    @Test
+    void userTaskPage() {
+        String path = "/api/tasks?userId=" + userId + "&size=";
+        assertThat(statements(get(path + 50))).isEqualTo(statements(get(path + 5))).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void userTaskPageNotModifiedIsOneQuery() throws Exception {
+        String path = "/api/tasks?userId=" + userId + "&size=20";
+        String etag = mockMvc.perform(get(path)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        MvcResult[] result = new MvcResult[1];
+        long count = QueryCounter.capture(() -> result[0] = perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag)))
+                .getStatements();
+        assertThat(result[0].getResponse().getStatus()).isEqualTo(304);
+        assertThat(count).isEqualTo(1);
+    }
+
+    @Test
+    void allTasksPage() {
+        String path = "/api/tasks?size=";
+        assertThat(statements(get(path + 50))).isEqualTo(statements(get(path + 5))).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void taskSlice() {
+        String path = "/api/tasks?total=approximate&userId=" + userId + "&size=";
+        // The first slice loads the approximate total into the count cache
+        perform(get(path + 5));
+        assertThat(statements(get(path + 50))).isEqualTo(statements(get(path + 5))).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void taskCursorPage() {
+        String path = "/api/tasks?after=&userId=" + userId + "&limit=";
+        assertThat(statements(get(path + 50))).isEqualTo(statements(get(path + 5))).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void taskSearch() {
+        String path = "/api/tasks/search?q=budgeted&userId=" + userId + "&limit=";
+        assertThat(statements(get(path + 50))).isEqualTo(statements(get(path + 5))).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void taskExport() {
+        assertThat(statements(get("/api/tasks/export?userId=" + userId))).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void userPage() {
+        String path = "/api/users?size=";
+        assertThat(statements(get(path + 10))).isEqualTo(statements(get(path + 2))).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void userCursorPage() {
+        String path = "/api/users?after=&limit=";
+        assertThat(statements(get(path + 10))).isEqualTo(statements(get(path + 2))).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    void userExport() {
+        assertThat(statements(get("/api/users/export"))).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    void taskStatsPage() {
+        String path = "/api/users/task-stats?size=";
+        assertThat(statements(get(path + 10))).isEqualTo(statements(get(path + 2))).isLessThanOrEqualTo(3);
+    }
+
+    private long statements(RequestBuilder request) {
+        return QueryCounter.capture(() -> perform(request)).getStatements();
+    }
+
+    private MvcResult perform(RequestBuilder request) {
+        try {
+            MvcResult result = mockMvc.perform(request).andReturn();
+            if (result.getResponse().getStatus() != 304) {
+                status().isOk().match(result);
+            }
+            return result;
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private Integer newUser() {
+        int n = USERS.incrementAndGet();
+        User user = User.builder()
+                .username("listing.user" + n)
+                .fullName("Listing User " + n)
+                .email("listing.user" + n + "@example.com")
+                .build();
+        return userService.createUser(user).getUserId();
+    }
+
+    private static List<CreateTaskRequest> requests(Integer userId, int count) {
+        List<CreateTaskRequest> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            CreateTaskRequest request = new CreateTaskRequest();
+            request.setUserId(userId);
+            request.setTitle("Task " + i);
+            request.setDescription("Budgeted task number " + i);
+            requests.add(request);
+        }
+        return requests;
+    }
+}
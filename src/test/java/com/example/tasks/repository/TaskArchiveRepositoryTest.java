@@ -0,0 +1,70 @@
+package com.example.tasks.repository;
+
+import com.example.tasks.dto.CreateTaskRequest;
+import com.example.tasks.model.TaskArchive;
+import com.example.tasks.model.User;
+import com.example.tasks.service.TaskService;
+import com.example.tasks.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The retention purger's archive copy runs against the schema the application actually creates.
+ */
+@SpringBootTest
+@ActiveProfiles({"local", "test"})
+class TaskArchiveRepositoryTest {
+
+    @Autowired
+    private TaskArchiveRepository archiveRepo;
+
+    @Autowired
+    private TaskRepository taskRepo;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void copiesAChunkOfTasksIntoTheArchive() {
+        User user = userService.createUser(User.builder()
+                .username("archive.user")
+                .fullName("Archive User")
+                .email("archive.user@example.com")
+                .build());
+        List<CreateTaskRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            CreateTaskRequest request = new CreateTaskRequest();
+            request.setUserId(user.getUserId());
+            request.setTitle("Archived " + i);
+            request.setDescription("Archived task number " + i);
+            requests.add(request);
+        }
+        taskService.createTasks(requests);
+        List<Integer> chunk = taskRepo.findIdsByUserIdAfter(user.getUserId(), 0, PageRequest.of(0, 3));
+
+        Integer copied = transactionTemplate.execute(tx -> archiveRepo.copyFromTasks(chunk));
+
+        assertThat(copied).isEqualTo(3);
+        List<TaskArchive> archived = archiveRepo.findAllById(chunk);
+        assertThat(archived).hasSize(3).allSatisfy(task -> {
+            assertThat(task.getUserId()).isEqualTo(user.getUserId());
+            assertThat(task.getTitle()).startsWith("Archived ");
+            assertThat(task.getArchivedAt()).isNotNull();
+        });
+    }
+}
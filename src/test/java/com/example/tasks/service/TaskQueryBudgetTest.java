@@ -0,0 +1,113 @@
+package com.example.tasks.service;
+
+import com.example.tasks.config.QueryBudget;
+import com.example.tasks.dto.BulkCreateTasksResponse;
+import com.example.tasks.dto.CreateTaskRequest;
+import com.example.tasks.dto.CursorPage;
+import com.example.tasks.dto.TaskSummary;
+import com.example.tasks.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement budgets for the task listing and bulk paths. The counts must not grow with the
+ * number of rows; an N+1 regression fails the build.
+ */
+@SpringBootTest
+@ActiveProfiles({"local", "test"})
+class TaskQueryBudgetTest {
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    private Integer userId;
+
+    @BeforeEach
+    void createUserWithTasks() {
+        userId = newUser();
+        taskService.createTasks(requests(userId, 60));
+        // Compare warm paths: the first lookup of the user fills the user cache
+        userService.existsById(userId);
+    }
+
+    @Test
+    void pageOfUserTasksIsIndependentOfPageSize() {
+        long small = QueryBudget.statements(() -> taskService.getTasksByUserId(userId, PageRequest.of(0, 5)));
+        long large = QueryBudget.statements(() -> taskService.getTasksByUserId(userId, PageRequest.of(0, 50)));
+
+        assertThat(large).isEqualTo(small);
+        Page<TaskSummary> page = QueryBudget.expectAtMost(3,
+                () -> taskService.getTasksByUserId(userId, PageRequest.of(0, 50)));
+        assertThat(page.getContent()).hasSize(50);
+    }
+
+    @Test
+    void pageOfAllTasksIsIndependentOfPageSize() {
+        long small = QueryBudget.statements(() -> taskService.getAllTasks(PageRequest.of(0, 5)));
+        long large = QueryBudget.statements(() -> taskService.getAllTasks(PageRequest.of(0, 50)));
+
+        assertThat(large).isEqualTo(small);
+        QueryBudget.expectAtMost(2, () -> taskService.getAllTasks(PageRequest.of(0, 50)));
+    }
+
+    @Test
+    void cursorPagesAreIndependentOfPageSize() {
+        long small = QueryBudget.statements(() -> taskService.getTasksAfter(userId, null, 5, null));
+        long large = QueryBudget.statements(() -> taskService.getTasksAfter(userId, null, 50, null));
+
+        assertThat(large).isEqualTo(small);
+        CursorPage<TaskSummary> first = QueryBudget.expectAtMost(2,
+                () -> taskService.getTasksAfter(userId, null, 20, null));
+        QueryBudget.expectAtMost(2, () -> taskService.getTasksAfter(userId, first.getNextCursor(), 20, null));
+    }
+
+    @Test
+    void bulkCreateIsBatched() {
+        Integer owner = newUser();
+        long ten = QueryBudget.statements(() -> taskService.createTasks(requests(owner, 10)));
+        long hundred = QueryBudget.statements(() -> taskService.createTasks(requests(owner, 100)));
+
+        // Only extra sequence allocations and JDBC batches, never a statement per task
+        assertThat(hundred).isLessThanOrEqualTo(ten + 6);
+        BulkCreateTasksResponse response = QueryBudget.expectAtMost(20,
+                () -> taskService.createTasks(requests(owner, 200)));
+        assertThat(response.getCreated()).isEqualTo(200);
+    }
+
+    private Integer newUser() {
+        int n = USERS.incrementAndGet();
+        User user = User.builder()
+                .username("budget.user" + n)
+                .fullName("Budget User " + n)
+                .email("budget.user" + n + "@example.com")
+                .build();
+        return userService.createUser(user).getUserId();
+    }
+
+    private static List<CreateTaskRequest> requests(Integer userId, int count) {
+        List<CreateTaskRequest> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            CreateTaskRequest request = new CreateTaskRequest();
+            request.setUserId(userId);
+            request.setTitle("Task " + i);
+            request.setDescription("Budgeted task number " + i);
+            requests.add(request);
+        }
+        return requests;
+    }
+}
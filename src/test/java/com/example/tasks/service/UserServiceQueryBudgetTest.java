@@ -0,0 +1,80 @@
+package com.example.tasks.service;
+
+import com.example.tasks.config.QueryBudget;
+import com.example.tasks.exception.ResourceAlreadyExistsException;
+import com.example.tasks.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Round trips of {@link UserService#createUser}: one lookup resolves new, reactivated and
+ * conflicting users, followed by at most one write.
+ */
+@SpringBootTest
+@ActiveProfiles({"local", "test"})
+class UserServiceQueryBudgetTest {
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void createIsOneLookupAndOneInsert() {
+        // Warm the id sequence so the measured create does not also allocate a block of ids
+        userService.createUser(newUser());
+
+        User created = QueryBudget.expectAtMost(2, () -> userService.createUser(newUser()));
+        assertThat(created.getUserId()).isNotNull();
+        assertThat(created.getIsActive()).isEqualTo("Y");
+    }
+
+    @Test
+    void reactivateIsOneLookupAndOneUpdate() {
+        User user = userService.createUser(newUser());
+        userService.deleteUserById(user.getUserId());
+
+        User again = newUser();
+        again.setUsername(user.getUsername());
+        User reactivated = QueryBudget.expectAtMost(2, () -> userService.createUser(again));
+        assertThat(reactivated.getUserId()).isEqualTo(user.getUserId());
+        assertThat(reactivated.getIsActive()).isEqualTo("Y");
+        assertThat(reactivated.getEmail()).isEqualTo(again.getEmail());
+    }
+
+    @Test
+    void conflictIsOneLookup() {
+        User user = userService.createUser(newUser());
+
+        User sameUsername = newUser();
+        sameUsername.setUsername(user.getUsername());
+        long usernameConflict = QueryBudget.statements(() ->
+                assertThatThrownBy(() -> userService.createUser(sameUsername))
+                        .isInstanceOf(ResourceAlreadyExistsException.class)
+                        .hasMessageContaining("username"));
+        assertThat(usernameConflict).isEqualTo(1);
+
+        User sameEmail = newUser();
+        sameEmail.setEmail(user.getEmail());
+        long emailConflict = QueryBudget.statements(() ->
+                assertThatThrownBy(() -> userService.createUser(sameEmail))
+                        .isInstanceOf(ResourceAlreadyExistsException.class)
+                        .hasMessageContaining("email"));
+        assertThat(emailConflict).isEqualTo(1);
+    }
+
+    private static User newUser() {
+        int n = USERS.incrementAndGet();
+        return User.builder()
+                .username("round.trip" + n)
+                .fullName("Round Trip " + n)
+                .email("round.trip" + n + "@example.com")
+                .build();
+    }
+}